@@ -4,6 +4,7 @@ plugins {
     id("io.spring.dependency-management") version "1.1.7"
     id("org.openapi.generator") version "7.12.0"
     id("nu.studer.jooq") version "10.1"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "dev.edgeahz.ec.spstore"
@@ -35,6 +36,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-aop")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
     //Spring Cloud
     implementation("org.springframework.cloud:spring-cloud-starter-openfeign")
@@ -43,6 +45,9 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-oauth2-resource-server")
     implementation("org.springframework.security:spring-security-oauth2-jose")
 
+    // Cache
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
     // Database
     implementation("org.flywaydb:flyway-core:11.8.0")
     implementation("org.flywaydb:flyway-mysql:11.8.0")
@@ -79,6 +84,9 @@ dependencies {
     testImplementation("org.springframework.security:spring-security-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     testImplementation("com.h2database:h2")
+
+    // Benchmarks
+    jmh("com.h2database:h2")
 }
 
 dependencyManagement {
@@ -91,6 +99,105 @@ tasks.withType<Test> {
     useJUnitPlatform()
 }
 
+// Con VIRTUAL_THREADS_ENABLED=true la JVM informa de cada hilo virtual que queda fijado a su portador
+tasks.bootRun {
+    if (System.getenv("VIRTUAL_THREADS_ENABLED").toBoolean()) {
+        jvmArgs("-Djdk.tracePinnedThreads=short")
+    }
+}
+
+// Benchmarks: ./gradlew jmh (fuentes en src/jmh/java). -PjmhIncludes=<regex> limita los que se ejecutan
+// y -PjmhProfilers=gc[,stack] añade perfiladores de JMH (gc: bytes asignados por operación)
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(listOf(it)) }
+    providers.gradleProperty("jmhProfilers").orNull?.let { profilers.set(it.split(",")) }
+}
+
+// Guarda el último resultado como línea base en src/jmh/baseline.json
+val jmhBaseline by tasks.registering(Copy::class) {
+    group = "benchmark"
+    description = "Guarda el último resultado de jmh como línea base"
+    from(layout.buildDirectory.file("results/jmh/results.json"))
+    into(layout.projectDirectory.dir("src/jmh"))
+    rename { "baseline.json" }
+}
+
+// Compara el último resultado con la línea base; -PjmhThreshold=0.10 fija la tolerancia y
+// -PjmhFailOnRegression hace fallar la tarea si algún benchmark empeora más que eso
+val jmhCompare by tasks.registering {
+    group = "benchmark"
+    description = "Compara el último resultado de jmh con la línea base"
+    val results = layout.buildDirectory.file("results/jmh/results.json")
+    val baseline = layout.projectDirectory.file("src/jmh/baseline.json")
+    val threshold = providers.gradleProperty("jmhThreshold").map(String::toDouble).orElse(0.10)
+    val failOnRegression = providers.gradleProperty("jmhFailOnRegression").isPresent
+
+    doLast {
+        val resultsFile = results.get().asFile
+        val baselineFile = baseline.asFile
+        if (!resultsFile.exists()) throw GradleException("No hay resultados: ejecute ./gradlew jmh")
+        if (!baselineFile.exists()) throw GradleException("No hay línea base: ejecute ./gradlew jmhBaseline")
+
+        fun keyOf(benchmark: Map<*, *>): String {
+            val params = (benchmark["params"] as? Map<*, *>)?.entries
+                ?.sortedBy { it.key.toString() }
+                ?.joinToString(",", "(", ")") { "${it.key}=${it.value}" }
+            return "${benchmark["benchmark"]}${params ?: ""}"
+        }
+        fun load(file: File): Map<String, Map<*, *>> = (groovy.json.JsonSlurper().parse(file) as List<*>)
+            .map { it as Map<*, *> }
+            .associateBy(::keyOf)
+        fun score(benchmark: Map<*, *>) = ((benchmark["primaryMetric"] as Map<*, *>)["score"] as Number).toDouble()
+
+        val current = load(resultsFile)
+        val previous = load(baselineFile)
+        val tolerance = threshold.get()
+        var regressions = 0
+        current.toSortedMap().forEach { (key, result) ->
+            val before = previous[key]
+            if (before == null) {
+                logger.lifecycle("%-100s sin línea base".format(key))
+                return@forEach
+            }
+
+            val now = score(result)
+            val old = score(before)
+            // En throughput más es mejor; en los modos que miden tiempo, menos
+            val change = if (result["mode"] == "thrpt") (now - old) / old else (old - now) / old
+            val regression = change < -tolerance
+            if (regression) regressions++
+            val unit = (result["primaryMetric"] as Map<*, *>)["scoreUnit"]
+            logger.lifecycle("%-100s %14.3f -> %14.3f %-8s %+7.1f%%%s"
+                .format(key, old, now, unit, change * 100, if (regression) "  REGRESIÓN" else ""))
+        }
+
+        if (regressions > 0 && failOnRegression) {
+            throw GradleException("$regressions benchmarks empeoraron más de ${tolerance * 100}% frente a la línea base")
+        }
+    }
+}
+
+// Migraciones de Flyway para H2 (modo MySQL) en los benchmarks y las pruebas: las mismas que en producción sin
+// CREATE DATABASE; las que usan sintaxis exclusiva de MySQL se sustituyen por su variante en src/jmh/h2-migration
+val h2Migrations by tasks.registering(Sync::class) {
+    val overrides = layout.projectDirectory.dir("src/jmh/h2-migration")
+    into(layout.buildDirectory.dir("h2-migration"))
+    from("src/main/resources/db/migration") {
+        into("db/h2")
+        exclude { overrides.file(it.name).asFile.exists() }
+        filter { line -> if (line.startsWith("CREATE DATABASE")) "" else line }
+    }
+    from(overrides) {
+        into("db/h2")
+    }
+}
+
 tasks.withType<JavaCompile> {
     options.compilerArgs.addAll(listOf(
         "-Amapstruct.defaultComponentModel=spring",
@@ -165,6 +272,39 @@ sourceSets {
             srcDir("${layout.buildDirectory.get()}/generated/src/main/java")
         }
     }
+    named("jmh") {
+        resources.srcDir(h2Migrations)
+    }
+    // Pruebas de repositorios jOOQ sobre H2 con las mismas migraciones
+    test {
+        resources.srcDir(h2Migrations)
+    }
+    // Prueba de carga HTTP de extremo a extremo (fuentes en src/loadTest/java)
+    create("loadTest") {
+        compileClasspath += main.get().output
+        runtimeClasspath += main.get().output
+        resources.srcDir(h2Migrations)
+    }
+}
+
+configurations["loadTestImplementation"].extendsFrom(configurations.implementation.get())
+configurations["loadTestRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+    "loadTestRuntimeOnly"("com.h2database:h2")
+}
+
+// Arranca la aplicación sobre H2 con un emisor de JWT local y la somete a tasas de llegada fijas:
+// ./gradlew loadTest -PloadRates=200,500,1000 -PloadDuration=PT60S -PloadWarmup=PT15S -PloadUsers=1000
+val loadTest by tasks.registering(JavaExec::class) {
+    group = "verification"
+    description = "Prueba de carga HTTP con latencias p50/p99/p99.9 por operationId"
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass.set("dev.edgeahz.ec.spstore.user_management.loadtest.LoadTestRunner")
+    listOf("loadRates", "loadDuration", "loadWarmup", "loadUsers").forEach { name ->
+        providers.gradleProperty(name).orNull?.let { systemProperty(name, it) }
+    }
 }
 
 tasks.compileJava {
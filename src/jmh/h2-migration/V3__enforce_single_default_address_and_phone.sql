@@ -0,0 +1,9 @@
+-- Variante H2 de V3: la base de los benchmarks empieza vacía, así que no hace falta corregir datos,
+-- y H2 no admite STORED ni varias acciones en un mismo ALTER TABLE
+ALTER TABLE addresses
+    ADD COLUMN default_owner_id BIGINT GENERATED ALWAYS AS (CASE WHEN is_default THEN user_id END);
+CREATE UNIQUE INDEX uk_addresses_default_owner ON addresses (default_owner_id);
+
+ALTER TABLE phones
+    ADD COLUMN default_owner_id BIGINT GENERATED ALWAYS AS (CASE WHEN is_default THEN user_id END);
+CREATE UNIQUE INDEX uk_phones_default_owner ON phones (default_owner_id);
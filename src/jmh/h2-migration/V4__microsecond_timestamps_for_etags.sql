@@ -0,0 +1,3 @@
+-- En H2 TIMESTAMP ya tiene precisión de microsegundos: solo hacen falta los índices
+CREATE INDEX idx_addresses_user_updated ON addresses (user_id, updated_at);
+CREATE INDEX idx_phones_user_updated ON phones (user_id, updated_at);
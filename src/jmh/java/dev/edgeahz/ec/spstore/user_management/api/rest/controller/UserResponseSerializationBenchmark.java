@@ -0,0 +1,120 @@
+package dev.edgeahz.ec.spstore.user_management.api.rest.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.AddressResponse;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.PhoneResponse;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.RoleResponse;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.UserPageResponse;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización con Jackson de los DTO generados desde api.yaml: un {@link UserResponse} completo y
+ * una página de 50 usuarios como la que devuelve {@code GET /api/v1/users}. El {@link ObjectMapper}
+ * se configura con el mismo builder que usa Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserResponseSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private ObjectMapper objectMapper;
+    private UserResponse user;
+    private UserPageResponse page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        user = user(1);
+
+        List<UserResponse> items = new ArrayList<>(PAGE_SIZE);
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            items.add(user(i));
+        }
+        page = new UserPageResponse();
+        page.setItems(items);
+        page.setNextCursor("eyJpZCI6NTAsInNvcnQiOiJJRCJ9");
+    }
+
+    private static UserResponse user(long id) {
+        UserResponse user = new UserResponse();
+        user.setId(String.valueOf(id));
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setFirstName("Nombre");
+        user.setLastName("Apellido");
+        user.setBirthDate(LocalDate.of(1990, 1, 1));
+        user.setEnabled(true);
+        user.setRoles(List.of(role(1, "USER"), role(2, "ADMIN")));
+        user.setAddresses(List.of(address(id * 2, true), address(id * 2 + 1, false)));
+        user.setPhoneNumbers(List.of(phone(id * 2, true), phone(id * 2 + 1, false)));
+        user.setCreatedAt(NOW);
+        user.setUpdatedAt(NOW);
+        return user;
+    }
+
+    private static RoleResponse role(long id, String name) {
+        RoleResponse role = new RoleResponse();
+        role.setId(String.valueOf(id));
+        role.setName(name);
+        role.setDescription("Rol " + name);
+        role.setCreatedAt(NOW);
+        role.setUpdatedAt(NOW);
+        return role;
+    }
+
+    private static AddressResponse address(long id, boolean isDefault) {
+        AddressResponse address = new AddressResponse();
+        address.setId(String.valueOf(id));
+        address.setStreet("Calle Mayor " + id);
+        address.setCity("Madrid");
+        address.setState("Madrid");
+        address.setCountry("España");
+        address.setZipCode("28001");
+        address.setIsDefault(isDefault);
+        address.setLabel("Casa");
+        address.setCreatedAt(NOW);
+        address.setUpdatedAt(NOW);
+        return address;
+    }
+
+    private static PhoneResponse phone(long id, boolean isDefault) {
+        PhoneResponse phone = new PhoneResponse();
+        phone.setId(String.valueOf(id));
+        phone.setNumber("600" + id);
+        phone.setCountryCode("+34");
+        phone.setType(PhoneResponse.TypeEnum.MOBILE);
+        phone.setIsDefault(isDefault);
+        phone.setCreatedAt(NOW);
+        phone.setUpdatedAt(NOW);
+        return phone;
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,41 @@
+package dev.edgeahz.ec.spstore.user_management.application.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserServiceImpl#isAdult}, que se evalúa en cada alta, actualización e importación de usuarios.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserServiceImplBenchmark {
+
+    private static final int DATES = 1 << 10;
+
+    private LocalDate[] birthDates;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        // Fechas a ambos lados del límite de edad para que la rama no sea siempre la misma
+        LocalDate limit = LocalDate.now().minusYears(UserServiceImpl.MINIMUM_AGE);
+        birthDates = new LocalDate[DATES];
+        for (int i = 0; i < DATES; i++) {
+            birthDates[i] = limit.plusDays(i % 2 == 0 ? i : -i);
+        }
+    }
+
+    @Benchmark
+    public boolean isAdult() {
+        return UserServiceImpl.isAdult(birthDates[cursor++ & (DATES - 1)]);
+    }
+}
@@ -0,0 +1,90 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memoria y rendimiento de {@link BloomFilter} con 10M entradas. El tamaño del filtro y la tasa de
+ * falsos positivos medida se imprimen al preparar cada combinación de parámetros.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BloomFilterBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    @Param({"10000000"})
+    long entries;
+
+    @Param({"0.01", "0.001"})
+    double falsePositiveRate;
+
+    private BloomFilter filter;
+    private String[] present;
+    private String[] absent;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        filter = BloomFilter.create(entries, falsePositiveRate);
+        for (long i = 0; i < entries; i++) {
+            filter.put(email(i));
+        }
+
+        present = new String[PROBES];
+        absent = new String[PROBES];
+        long falsePositives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            present[i] = email(i * (entries / PROBES));
+            absent[i] = "missing" + i + "@example.com";
+            if (filter.mightContain(absent[i])) {
+                falsePositives++;
+            }
+        }
+
+        System.out.printf("%nentries=%d fpp=%s -> %.1f MB, %d funciones hash, fpp medida=%.4f%n",
+                entries, falsePositiveRate, filter.bitSize() / 8.0 / (1 << 20), filter.hashFunctions(),
+                (double) falsePositives / PROBES);
+    }
+
+    private static String email(long i) {
+        return "user" + i + "@example.com";
+    }
+
+    private String next(String[] values) {
+        return values[cursor++ & (PROBES - 1)];
+    }
+
+    @Benchmark
+    public boolean mightContainPresent() {
+        return filter.mightContain(next(present));
+    }
+
+    @Benchmark
+    public boolean mightContainAbsent() {
+        return filter.mightContain(next(absent));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean mightContainAbsentConcurrent() {
+        // El índice compartido entre hilos no importa aquí: solo selecciona una clave de prueba
+        return filter.mightContain(next(absent));
+    }
+
+    @Benchmark
+    public void put() {
+        filter.put(next(absent));
+    }
+}
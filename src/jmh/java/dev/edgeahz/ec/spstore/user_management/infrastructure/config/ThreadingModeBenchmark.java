@@ -0,0 +1,94 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hilos de plataforma (200, como el pool por defecto de Tomcat) frente a un hilo virtual por
+ * petición, con 1k, 5k y 10k peticiones simultáneas. Cada petición espera {@code remoteWaitMillis}
+ * sin conexión (cliente lento, llamada a otro servicio) y luego ocupa una de las 10 conexiones del
+ * pool durante {@value #QUERY_MILLIS} ms. Mide el tiempo hasta completar todas las peticiones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ThreadingModeBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int DB_POOL_SIZE = 10;
+    private static final long QUERY_MILLIS = 1;
+
+    @Param({"1000", "5000", "10000"})
+    int connections;
+
+    @Param({"platform", "virtual"})
+    String mode;
+
+    @Param({"0", "50"})
+    long remoteWaitMillis;
+
+    private ExecutorService executor;
+    private Semaphore connectionPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "virtual".equals(mode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        // Como en Hikari, quien no consigue conexión espera en orden de llegada
+        connectionPool = new Semaphore(DB_POOL_SIZE, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public void concurrentRequests() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(connections);
+        for (int i = 0; i < connections; i++) {
+            executor.execute(() -> {
+                try {
+                    request();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private void request() throws InterruptedException {
+        if (remoteWaitMillis > 0) {
+            Thread.sleep(remoteWaitMillis);
+        }
+
+        connectionPool.acquire();
+        try {
+            Thread.sleep(QUERY_MILLIS);
+        } finally {
+            connectionPool.release();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.exception;
+
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.ErrorResponse;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ResourceNotFoundException;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.base.ResourceException;
+import org.jooq.SQLDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camino de un 404: lanzar la excepción desde {@code stackDepth} marcos (lo que añaden Tomcat,
+ * los filtros de Spring Security y los proxies) y convertirla en respuesta. {@code legacy}
+ * reproduce la excepción anterior, con traza de pila y mensaje con {@code String.format},
+ * respondida sin log como hacía el manejador; {@code stackless} es la actual con el log
+ * limitado de {@link GlobalExceptionHandler}. Aparte, la traducción de un error de MySQL
+ * creando el traductor cada vez frente a reutilizarlo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NotFoundPathBenchmark {
+
+    @Param({"legacy", "stackless"})
+    public String exception;
+
+    @Param({"20", "150"})
+    public int stackDepth;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private final SQLExceptionTranslator cachedTranslator = new SQLErrorCodeSQLExceptionTranslator(SQLDialect.MYSQL.name());
+
+    private final SQLIntegrityConstraintViolationException duplicateKey =
+            new SQLIntegrityConstraintViolationException("Duplicate entry 'ana' for key 'users.username'", "23000", 1062);
+
+    private long nextId;
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> notFound() {
+        try {
+            throwFrom(stackDepth, ++nextId);
+            throw new IllegalStateException("No se lanzó la excepción");
+        } catch (ResourceNotFoundException e) {
+            return handler.handleResourceNotFoundException(e);
+        } catch (ResourceException e) {
+            return handler.handleResourceException(e);
+        }
+    }
+
+    @Benchmark
+    public DataAccessException translateWithNewTranslator() {
+        return new SQLErrorCodeSQLExceptionTranslator(SQLDialect.MYSQL.name()).translate("jOOQ", null, duplicateKey);
+    }
+
+    @Benchmark
+    public DataAccessException translateWithCachedTranslator() {
+        return cachedTranslator.translate("jOOQ", null, duplicateKey);
+    }
+
+    private void throwFrom(int depth, long id) {
+        if (depth > 0) {
+            throwFrom(depth - 1, id);
+            return;
+        }
+        throw "legacy".equals(exception)
+                ? new LegacyResourceNotFoundException("User", id)
+                : new ResourceNotFoundException("User", id);
+    }
+
+    private static final class LegacyResourceNotFoundException extends ResourceException {
+
+        LegacyResourceNotFoundException(String resourceType, Long id) {
+            super(String.format("%s no fue encontrado con id: %s", resourceType, id), "RESOURCE_NOT_FOUND", resourceType);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
+
+import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.config.UserExportProperties;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code save} de un usuario existente en {@link JooqUserRepository} contra H2 en memoria (modo MySQL):
+ * la fila completa de un modelo sin seguimiento frente al UPDATE de la única columna modificada, y un
+ * save sin cambios. Además del tiempo, los contadores {@code sqlBytes} y {@code bindBytes} aproximan
+ * lo que se envía al servidor por operación (texto SQL y valores enlazados como UTF-8).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class H2PartialUpdateBenchmark {
+
+    @Param({"1000"})
+    int users;
+
+    private JdbcConnectionPool dataSource;
+    private JooqUserRepository userRepository;
+    private long sqlBytes;
+    private long bindBytes;
+    private boolean flip;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WrittenBytes {
+        public long sqlBytes;
+        public long bindBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            sqlBytes = 0;
+            bindBytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        dataSource = JdbcConnectionPool.create(
+                "jdbc:h2:mem:partial-update-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/h2")
+                .load()
+                .migrate();
+        seed();
+
+        DSLContext dsl = DSL.using(new DefaultConfiguration()
+                .set(dataSource)
+                .set(SQLDialect.H2)
+                .set(new Settings().withRenderSchema(false))
+                .set(new DefaultExecuteListenerProvider(new ExecuteListener() {
+                    @Override
+                    public void executeStart(ExecuteContext ctx) {
+                        sqlBytes += ctx.sql().getBytes(StandardCharsets.UTF_8).length;
+                        for (Object value : ctx.query().getBindValues()) {
+                            bindBytes += String.valueOf(value).getBytes(StandardCharsets.UTF_8).length;
+                        }
+                    }
+                })));
+        userRepository = new JooqUserRepository(dsl,
+                new UserAggregateLoader(new JooqRoleRepository(dsl), new JooqAddressRepository(dsl), new JooqPhoneRepository(dsl)),
+                new UserExportProperties());
+    }
+
+    private void seed() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement user = connection.prepareStatement(
+                     "INSERT INTO users (id, username, password, email, first_name, last_name, birth_date) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            for (long id = 1; id <= users; id++) {
+                user.setLong(1, id);
+                user.setString(2, "user" + id);
+                user.setString(3, "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4f0ZvH5sYk5E0GqJ0l1Qe7e");
+                user.setString(4, "user" + id + "@example.com");
+                user.setString(5, "Nombre");
+                user.setString(6, "Apellido");
+                user.setDate(7, Date.valueOf(LocalDate.of(1990, 1, 1)));
+                user.addBatch();
+            }
+            user.executeBatch();
+            connection.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        dataSource.dispose();
+    }
+
+    // El estado leído de la fila, sin versión para no depender de los UPDATE anteriores
+    private User storedUser() {
+        long id = ThreadLocalRandom.current().nextLong(1, users + 1);
+        return User.builder()
+                .id(id)
+                .username("user" + id)
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4f0ZvH5sYk5E0GqJ0l1Qe7e")
+                .email("user" + id + "@example.com")
+                .firstName("Nombre")
+                .lastName("Apellido")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .enabled(true)
+                .build();
+    }
+
+    private String nextFirstName() {
+        flip = !flip;
+        return flip ? "Nombre B" : "Nombre";
+    }
+
+    private User save(User user, WrittenBytes written) {
+        sqlBytes = 0;
+        bindBytes = 0;
+        User saved = userRepository.save(user);
+        written.sqlBytes += sqlBytes;
+        written.bindBytes += bindBytes;
+        return saved;
+    }
+
+    @Benchmark
+    public User fullRowUpdate(WrittenBytes written) {
+        User user = storedUser();
+        user.setFirstName(nextFirstName());
+        return save(user, written);
+    }
+
+    @Benchmark
+    public User changedColumnUpdate(WrittenBytes written) {
+        User user = storedUser();
+        user.trackChanges();
+        user.setFirstName(nextFirstName());
+        return save(user, written);
+    }
+
+    @Benchmark
+    public User unchangedUpdate(WrittenBytes written) {
+        User user = storedUser();
+        user.trackChanges();
+        user.setFirstName("Nombre");
+        return save(user, written);
+    }
+}
@@ -0,0 +1,176 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
+
+import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserFetchPlan;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.config.UserExportProperties;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code findAll} y {@code findById} de {@link JooqUserRepository} contra H2 en memoria (modo MySQL)
+ * con el esquema de las migraciones de Flyway. Cada usuario tiene dos roles, dos direcciones y dos
+ * teléfonos. No sustituye a medir contra MySQL, pero detecta regresiones en consultas y mapeo.
+ * <p>
+ * Cada invocación cuenta las sentencias ejecutadas y falla si no son las esperadas: una consulta de
+ * usuarios más una por relación y bloque de {@value UserAggregateLoader#CHUNK_SIZE} IDs en
+ * {@code findAll}, y cuatro en {@code findById}. Un N+1 rompe el benchmark en lugar de solo volverlo lento.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class H2UserRepositoryBenchmark {
+
+    private static final int RELATIONS = 3;
+
+    @Param({"1000", "10000", "100000"})
+    int users;
+
+    private JdbcConnectionPool dataSource;
+    private JooqUserRepository userRepository;
+    private final AtomicInteger statements = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        dataSource = JdbcConnectionPool.create(
+                "jdbc:h2:mem:users-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/h2")
+                .load()
+                .migrate();
+        seed();
+
+        // El código generado lleva el esquema de MySQL; en H2 las tablas están en el esquema por defecto
+        DSLContext dsl = DSL.using(new DefaultConfiguration()
+                .set(dataSource)
+                .set(SQLDialect.H2)
+                .set(new Settings().withRenderSchema(false))
+                .set(new DefaultExecuteListenerProvider(new ExecuteListener() {
+                    @Override
+                    public void executeStart(ExecuteContext ctx) {
+                        statements.incrementAndGet();
+                    }
+                })));
+        userRepository = new JooqUserRepository(dsl,
+                new UserAggregateLoader(new JooqRoleRepository(dsl), new JooqAddressRepository(dsl), new JooqPhoneRepository(dsl)),
+                new UserExportProperties());
+    }
+
+    private void seed() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement roles = connection.prepareStatement("INSERT INTO roles (id, name) VALUES (?, ?)")) {
+                for (String name : List.of("USER", "ADMIN")) {
+                    roles.setLong(1, name.equals("USER") ? 1 : 2);
+                    roles.setString(2, name);
+                    roles.addBatch();
+                }
+                roles.executeBatch();
+            }
+
+            try (PreparedStatement user = connection.prepareStatement(
+                    "INSERT INTO users (id, username, password, email, first_name, last_name, birth_date) VALUES (?, ?, ?, ?, ?, ?, ?)");
+                 PreparedStatement userRole = connection.prepareStatement(
+                         "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)");
+                 PreparedStatement address = connection.prepareStatement(
+                         "INSERT INTO addresses (user_id, street, city, country, zip_code, is_default) VALUES (?, ?, 'Madrid', 'España', '28001', ?)");
+                 PreparedStatement phone = connection.prepareStatement(
+                         "INSERT INTO phones (user_id, number, country_code, type, is_default) VALUES (?, ?, '+34', 'MOBILE', ?)")) {
+                for (long id = 1; id <= users; id++) {
+                    user.setLong(1, id);
+                    user.setString(2, "user" + id);
+                    user.setString(3, "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4f0ZvH5sYk5E0GqJ0l1Qe7e");
+                    user.setString(4, "user" + id + "@example.com");
+                    user.setString(5, "Nombre");
+                    user.setString(6, "Apellido");
+                    user.setDate(7, Date.valueOf(LocalDate.of(1990, 1, 1)));
+                    user.addBatch();
+
+                    for (int i = 0; i < 2; i++) {
+                        userRole.setLong(1, id);
+                        userRole.setLong(2, i + 1);
+                        userRole.addBatch();
+
+                        address.setLong(1, id);
+                        address.setString(2, "Calle Mayor " + i);
+                        address.setBoolean(3, i == 0);
+                        address.addBatch();
+
+                        phone.setLong(1, id);
+                        phone.setString(2, "600" + id + i);
+                        phone.setBoolean(3, i == 0);
+                        phone.addBatch();
+                    }
+                }
+                user.executeBatch();
+                userRole.executeBatch();
+                address.executeBatch();
+                phone.executeBatch();
+            }
+            connection.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        // DB_CLOSE_DELAY=-1 mantiene la base en memoria mientras viva la JVM: se vacía para el siguiente trial
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        dataSource.dispose();
+    }
+
+    private void expectStatements(int expected) {
+        int executed = statements.getAndSet(0);
+        if (executed != expected) {
+            throw new IllegalStateException("Se esperaban " + expected + " sentencias y se ejecutaron " + executed);
+        }
+    }
+
+    @Benchmark
+    public List<User> findAll() {
+        statements.set(0);
+        List<User> result = userRepository.findAll();
+        int chunks = (users + UserAggregateLoader.CHUNK_SIZE - 1) / UserAggregateLoader.CHUNK_SIZE;
+        expectStatements(1 + RELATIONS * chunks);
+        return result;
+    }
+
+    @Benchmark
+    public Optional<User> findById() {
+        statements.set(0);
+        Optional<User> result = userRepository.findById(ThreadLocalRandom.current().nextLong(1, users + 1), UserFetchPlan.FULL);
+        expectStatements(1 + RELATIONS);
+        return result;
+    }
+}
@@ -0,0 +1,194 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
+
+import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Role;
+import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.Tables;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.tables.records.AddressesRecord;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.tables.records.UsersRecord;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Conversión de filas ya leídas al modelo de dominio: los mapeadores por posición de los
+ * repositorios frente al mapeo anterior con el builder de Lombok (y, en los roles del join,
+ * acceso a columnas por campo). Los resultados son por fila; con {@code -PjmhProfilers=gc}
+ * {@code gc.alloc.rate.norm} da los bytes asignados por fila.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RecordMapperBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private Result<UsersRecord> userRows;
+    private Result<AddressesRecord> addressRows;
+    private Result<Record> roleRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DSLContext create = DSL.using(SQLDialect.MYSQL);
+        userRows = create.newResult(Tables.USERS);
+        addressRows = create.newResult(Tables.ADDRESSES);
+        Field<?>[] roleFields = Stream.concat(Arrays.stream(Tables.ROLES.fields()), Stream.of(Tables.USER_ROLES.USER_ID))
+                .toArray(Field[]::new);
+        roleRows = create.newResult(roleFields);
+
+        for (long id = 1; id <= ROWS; id++) {
+            UsersRecord user = create.newRecord(Tables.USERS);
+            user.setId(id);
+            user.setUsername("user" + id);
+            user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4f0ZvH5sYk5E0GqJ0l1Qe7e");
+            user.setEmail("user" + id + "@example.com");
+            user.setFirstName("Nombre");
+            user.setLastName("Apellido");
+            user.setBirthDate(LocalDate.of(1990, 1, 1));
+            user.setEnabled((byte) 1);
+            user.setCreatedAt(NOW);
+            user.setUpdatedAt(NOW);
+            user.setVersion(0L);
+            userRows.add(user);
+
+            AddressesRecord address = create.newRecord(Tables.ADDRESSES);
+            address.setId(id);
+            address.setUserId(id);
+            address.setStreet("Calle Mayor " + id);
+            address.setCity("Madrid");
+            address.setState("Madrid");
+            address.setCountry("España");
+            address.setZipCode("28001");
+            address.setIsDefault((byte) 1);
+            address.setLabel("Casa");
+            address.setCreatedAt(NOW);
+            address.setUpdatedAt(NOW);
+            address.setVersion(0L);
+            addressRows.add(address);
+
+            Record role = create.newRecord(roleFields);
+            role.set(Tables.ROLES.ID, id % 2 + 1);
+            role.set(Tables.ROLES.NAME, id % 2 == 0 ? "USER" : "ADMIN");
+            role.set(Tables.ROLES.DESCRIPTION, "Rol " + (id % 2 + 1));
+            role.set(Tables.ROLES.CREATED_AT, NOW);
+            role.set(Tables.ROLES.UPDATED_AT, NOW);
+            role.set(Tables.USER_ROLES.USER_ID, id);
+            roleRows.add(role);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void usersWithBuilder(Blackhole blackhole) {
+        for (UsersRecord record : userRows) {
+            User user = User.builder()
+                    .id(record.getId())
+                    .username(record.getUsername())
+                    .password(record.getPassword())
+                    .email(record.getEmail())
+                    .firstName(record.getFirstName())
+                    .lastName(record.getLastName())
+                    .birthDate(record.getBirthDate())
+                    .enabled(record.getEnabled() != null && record.getEnabled() == 1)
+                    .createdBy(record.getCreatedBy())
+                    .updatedBy(record.getUpdatedBy())
+                    .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
+                    .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
+                    .version(record.getVersion())
+                    .build();
+            user.trackChanges();
+            blackhole.consume(user);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void usersWithMapper(Blackhole blackhole) {
+        for (UsersRecord record : userRows) {
+            blackhole.consume(UserRecordMapper.INSTANCE.map(record));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void addressesWithBuilder(Blackhole blackhole) {
+        for (AddressesRecord record : addressRows) {
+            Address address = Address.builder()
+                    .id(record.getId())
+                    .userId(record.getUserId())
+                    .street(record.getStreet())
+                    .city(record.getCity())
+                    .state(record.getState())
+                    .country(record.getCountry())
+                    .zipCode(record.getZipCode())
+                    .isDefault(record.getIsDefault() != null && record.getIsDefault() == 1)
+                    .label(record.getLabel())
+                    .createdBy(record.getCreatedBy())
+                    .updatedBy(record.getUpdatedBy())
+                    .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
+                    .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
+                    .version(record.getVersion())
+                    .build();
+            address.trackChanges();
+            blackhole.consume(address);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void addressesWithMapper(Blackhole blackhole) {
+        for (AddressesRecord record : addressRows) {
+            blackhole.consume(AddressRecordMapper.INSTANCE.map(record));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void joinedRolesByField(Blackhole blackhole) {
+        for (Record record : roleRows) {
+            blackhole.consume(record.get(Tables.USER_ROLES.USER_ID));
+            Role role = Role.builder()
+                    .id(record.get(Tables.ROLES.ID))
+                    .name(record.get(Tables.ROLES.NAME))
+                    .description(record.get(Tables.ROLES.DESCRIPTION))
+                    .createdBy(record.get(Tables.ROLES.CREATED_BY))
+                    .updatedBy(record.get(Tables.ROLES.UPDATED_BY))
+                    .createdAt(record.get(Tables.ROLES.CREATED_AT).toInstant(ZoneOffset.UTC))
+                    .updatedAt(record.get(Tables.ROLES.UPDATED_AT).toInstant(ZoneOffset.UTC))
+                    .build();
+            role.trackChanges();
+            blackhole.consume(role);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void joinedRolesWithMapper(Blackhole blackhole) {
+        int userId = Tables.ROLES.fields().length;
+        for (Record record : roleRows) {
+            blackhole.consume(record.get(userId));
+            blackhole.consume(RoleRecordMapper.INSTANCE.map(record));
+        }
+    }
+}
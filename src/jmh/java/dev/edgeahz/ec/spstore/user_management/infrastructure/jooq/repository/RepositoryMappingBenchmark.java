@@ -0,0 +1,177 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
+
+import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Phone;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Role;
+import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.config.UserExportProperties;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.Tables;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.tables.records.AddressesRecord;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.tables.records.PhonesRecord;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.tables.records.UsersRecord;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockDataProvider;
+import org.jooq.tools.jdbc.MockResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Conversión de registros jOOQ al modelo de dominio en los repositorios. Las consultas se responden
+ * con un {@link MockDataProvider}: se mide el mapeo y el trabajo de jOOQ sobre el resultado, sin E/S.
+ * Cada usuario tiene dos roles, dos direcciones y dos teléfonos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositoryMappingBenchmark {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Param({"1", "100"})
+    int users;
+
+    private JooqUserRepository userRepository;
+    private JooqRoleRepository roleRepository;
+    private JooqAddressRepository addressRepository;
+    private JooqPhoneRepository phoneRepository;
+    private List<Long> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DSLContext create = DSL.using(SQLDialect.MYSQL);
+        Result<UsersRecord> userRows = create.newResult(Tables.USERS);
+        Result<AddressesRecord> addressRows = create.newResult(Tables.ADDRESSES);
+        Result<PhonesRecord> phoneRows = create.newResult(Tables.PHONES);
+        Field<?>[] roleFields = Stream.concat(Arrays.stream(Tables.ROLES.fields()), Stream.of(Tables.USER_ROLES.USER_ID))
+                .toArray(Field[]::new);
+        Result<Record> roleRows = create.newResult(roleFields);
+
+        userIds = new ArrayList<>(users);
+        long childId = 1;
+        for (long id = 1; id <= users; id++) {
+            userIds.add(id);
+            userRows.add(user(create, id));
+            for (int i = 0; i < 2; i++, childId++) {
+                addressRows.add(address(create, childId, id, i == 0));
+                phoneRows.add(phone(create, childId, id, i == 0));
+                roleRows.add(role(create, roleFields, i + 1L, id));
+            }
+        }
+
+        MockDataProvider provider = context -> {
+            String sql = context.sql();
+            Result<?> result = sql.contains("`phones`") ? phoneRows
+                    : sql.contains("`addresses`") ? addressRows
+                    : sql.contains("`user_roles`") ? roleRows
+                    : userRows;
+            return new MockResult[]{new MockResult(result.size(), result)};
+        };
+        DSLContext dsl = DSL.using(new MockConnection(provider), SQLDialect.MYSQL);
+
+        roleRepository = new JooqRoleRepository(dsl);
+        addressRepository = new JooqAddressRepository(dsl);
+        phoneRepository = new JooqPhoneRepository(dsl);
+        userRepository = new JooqUserRepository(dsl,
+                new UserAggregateLoader(roleRepository, addressRepository, phoneRepository), new UserExportProperties());
+    }
+
+    private static UsersRecord user(DSLContext create, long id) {
+        UsersRecord record = create.newRecord(Tables.USERS);
+        record.setId(id);
+        record.setUsername("user" + id);
+        record.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4f0ZvH5sYk5E0GqJ0l1Qe7e");
+        record.setEmail("user" + id + "@example.com");
+        record.setFirstName("Nombre");
+        record.setLastName("Apellido");
+        record.setBirthDate(LocalDate.of(1990, 1, 1));
+        record.setEnabled((byte) 1);
+        record.setCreatedAt(NOW);
+        record.setUpdatedAt(NOW);
+        record.setVersion(0L);
+        return record;
+    }
+
+    private static AddressesRecord address(DSLContext create, long id, long userId, boolean isDefault) {
+        AddressesRecord record = create.newRecord(Tables.ADDRESSES);
+        record.setId(id);
+        record.setUserId(userId);
+        record.setStreet("Calle Mayor " + id);
+        record.setCity("Madrid");
+        record.setState("Madrid");
+        record.setCountry("España");
+        record.setZipCode("28001");
+        record.setIsDefault((byte) (isDefault ? 1 : 0));
+        record.setLabel("Casa");
+        record.setCreatedAt(NOW);
+        record.setUpdatedAt(NOW);
+        record.setVersion(0L);
+        return record;
+    }
+
+    private static PhonesRecord phone(DSLContext create, long id, long userId, boolean isDefault) {
+        PhonesRecord record = create.newRecord(Tables.PHONES);
+        record.setId(id);
+        record.setUserId(userId);
+        record.setType(Tables.PHONES.TYPE.getDataType().convert(Phone.PhoneType.MOBILE.name()));
+        record.setCountryCode("+34");
+        record.setNumber("600" + id);
+        record.setIsDefault((byte) (isDefault ? 1 : 0));
+        record.setCreatedAt(NOW);
+        record.setUpdatedAt(NOW);
+        record.setVersion(0L);
+        return record;
+    }
+
+    private static Record role(DSLContext create, Field<?>[] fields, long roleId, long userId) {
+        Record record = create.newRecord(fields);
+        record.set(Tables.ROLES.ID, roleId);
+        record.set(Tables.ROLES.NAME, roleId == 1 ? "USER" : "ADMIN");
+        record.set(Tables.ROLES.DESCRIPTION, "Rol " + roleId);
+        record.set(Tables.ROLES.CREATED_AT, NOW);
+        record.set(Tables.ROLES.UPDATED_AT, NOW);
+        record.set(Tables.USER_ROLES.USER_ID, userId);
+        return record;
+    }
+
+    @Benchmark
+    public List<User> findAllUsers() {
+        return userRepository.findAll();
+    }
+
+    @Benchmark
+    public Map<Long, List<Role>> rolesByUserIds() {
+        return roleRepository.findAllByUserIds(userIds);
+    }
+
+    @Benchmark
+    public Map<Long, List<Address>> addressesByUserIds() {
+        return addressRepository.findAllByUserIds(userIds);
+    }
+
+    @Benchmark
+    public Map<Long, List<Phone>> phonesByUserIds() {
+        return phoneRepository.findAllByUserIds(userIds);
+    }
+}
@@ -0,0 +1,124 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
+
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.Tables;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.tables.records.AddressesRecord;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.tables.records.UsersRecord;
+import org.jooq.DSLContext;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockDataProvider;
+import org.jooq.tools.jdbc.MockResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de CPU en el cliente de una búsqueda por clave: la consulta construida y renderizada con el
+ * DSL en cada llamada frente a {@link RenderedQuery}, que solo enlaza los valores. Las consultas
+ * se responden con un {@link MockDataProvider} de una fila, así que no hay E/S ni trabajo del
+ * servidor; el ahorro de análisis y planificación en MySQL queda fuera de esta medida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StatementRenderingBenchmark {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private DSLContext dsl;
+    private RenderedQuery<UsersRecord> userById;
+    private RenderedQuery<AddressesRecord> addressByIdAndUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DSLContext create = DSL.using(SQLDialect.MYSQL);
+        Result<UsersRecord> userRows = create.newResult(Tables.USERS);
+        userRows.add(user(create));
+        Result<AddressesRecord> addressRows = create.newResult(Tables.ADDRESSES);
+        addressRows.add(address(create));
+
+        MockDataProvider provider = context -> new MockResult[]{
+                new MockResult(1, context.sql().contains("`addresses`") ? addressRows : userRows)};
+        dsl = DSL.using(new MockConnection(provider), SQLDialect.MYSQL, new Settings().withExecuteLogging(false));
+
+        userById = new RenderedQuery<>(dsl, Tables.USERS, Tables.USERS.ID.eq(DSL.param("id", Long.class)));
+        addressByIdAndUserId = new RenderedQuery<>(dsl, Tables.ADDRESSES, Tables.ADDRESSES.ID.eq(DSL.param("id", Long.class))
+                .and(Tables.ADDRESSES.USER_ID.eq(DSL.param("userId", Long.class))));
+    }
+
+    private static UsersRecord user(DSLContext create) {
+        UsersRecord record = create.newRecord(Tables.USERS);
+        record.setId(1L);
+        record.setUsername("user1");
+        record.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4f0ZvH5sYk5E0GqJ0l1Qe7e");
+        record.setEmail("user1@example.com");
+        record.setFirstName("Nombre");
+        record.setLastName("Apellido");
+        record.setBirthDate(LocalDate.of(1990, 1, 1));
+        record.setEnabled((byte) 1);
+        record.setCreatedAt(NOW);
+        record.setUpdatedAt(NOW);
+        record.setVersion(0L);
+        return record;
+    }
+
+    private static AddressesRecord address(DSLContext create) {
+        AddressesRecord record = create.newRecord(Tables.ADDRESSES);
+        record.setId(1L);
+        record.setUserId(1L);
+        record.setStreet("Calle Mayor 1");
+        record.setCity("Madrid");
+        record.setState("Madrid");
+        record.setCountry("España");
+        record.setZipCode("28001");
+        record.setIsDefault((byte) 1);
+        record.setLabel("Casa");
+        record.setCreatedAt(NOW);
+        record.setUpdatedAt(NOW);
+        record.setVersion(0L);
+        return record;
+    }
+
+    private static long nextId() {
+        return ThreadLocalRandom.current().nextLong(1, 1_000_000);
+    }
+
+    @Benchmark
+    public Optional<UsersRecord> userByIdRenderedEachCall() {
+        return dsl.selectFrom(Tables.USERS)
+                .where(Tables.USERS.ID.eq(nextId()))
+                .fetchOptional();
+    }
+
+    @Benchmark
+    public Optional<UsersRecord> userByIdRenderedOnce() {
+        return userById.fetchOptional(nextId());
+    }
+
+    @Benchmark
+    public Optional<AddressesRecord> addressByIdAndUserIdRenderedEachCall() {
+        return dsl.selectFrom(Tables.ADDRESSES)
+                .where(Tables.ADDRESSES.ID.eq(nextId()))
+                .and(Tables.ADDRESSES.USER_ID.eq(nextId()))
+                .fetchOptional();
+    }
+
+    @Benchmark
+    public Optional<AddressesRecord> addressByIdAndUserIdRenderedOnce() {
+        return addressByIdAndUserId.fetchOptional(nextId(), nextId());
+    }
+}
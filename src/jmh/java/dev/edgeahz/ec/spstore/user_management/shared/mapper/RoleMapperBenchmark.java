@@ -0,0 +1,46 @@
+package dev.edgeahz.ec.spstore.user_management.shared.mapper;
+
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.RoleResponse;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RoleMapper#toRoleResponse} generado por MapStruct, y por separado la conversión
+ * {@link RoleMapper#map(Instant)} que usa para las dos marcas de tiempo de cada rol.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoleMapperBenchmark {
+
+    private final RoleMapper mapper = new RoleMapperImpl();
+
+    private final Instant instant = Instant.parse("2025-01-01T12:00:00Z");
+
+    private final Role role = Role.builder()
+            .id(1L)
+            .name("ADMIN")
+            .description("Administrador del sistema")
+            .createdAt(instant)
+            .updatedAt(instant)
+            .build();
+
+    @Benchmark
+    public RoleResponse toRoleResponse() {
+        return mapper.toRoleResponse(role);
+    }
+
+    @Benchmark
+    public OffsetDateTime mapInstant() {
+        return mapper.map(instant);
+    }
+}
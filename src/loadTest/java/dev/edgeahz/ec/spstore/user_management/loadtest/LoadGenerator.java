@@ -0,0 +1,131 @@
+package dev.edgeahz.ec.spstore.user_management.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga de modelo abierto: las peticiones salen a una tasa fija sin esperar a que
+ * terminen las anteriores, y la latencia se mide desde el instante en que debía salir cada una.
+ * Así un servidor saturado no frena al generador ni esconde su cola (omisión coordinada).
+ */
+final class LoadGenerator {
+
+    // Tope de peticiones en vuelo; por encima se descartan y se cuentan aparte
+    private static final int MAX_OUTSTANDING = 20_000;
+
+    private final HttpClient client;
+    private final List<Operation> operations;
+    private final int totalWeight;
+
+    LoadGenerator(HttpClient client, List<Operation> operations) {
+        this.client = client;
+        this.operations = operations;
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    Report run(double ratePerSecond, Duration duration) throws InterruptedException {
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        operations.forEach(operation -> stats.put(operation.operationId(), new Stats()));
+
+        SplittableRandom random = new SplittableRandom(42);
+        Semaphore outstanding = new Semaphore(MAX_OUTSTANDING);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + Math.round(i * 1e9 / ratePerSecond);
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = pick(random);
+            Stats operationStats = stats.get(operation.operationId());
+            if (!outstanding.tryAcquire()) {
+                operationStats.dropped.increment();
+                continue;
+            }
+
+            client.sendAsync(operation.request().apply(random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        operationStats.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+                        if (error != null || response.statusCode() >= 400) {
+                            operationStats.errors.increment();
+                        }
+                        outstanding.release();
+                    });
+        }
+
+        // Se esperan las respuestas pendientes antes de cerrar la medición
+        if (outstanding.tryAcquire(MAX_OUTSTANDING, 60, TimeUnit.SECONDS)) {
+            outstanding.release(MAX_OUTSTANDING);
+        }
+        return new Report(ratePerSecond, duration, stats);
+    }
+
+    private Operation pick(SplittableRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        return operations.getLast();
+    }
+
+    static final class Stats {
+        final Histogram latency = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+    }
+
+    record Report(double ratePerSecond, Duration duration, Map<String, Stats> stats) {
+
+        void print(PrintStream out) {
+            out.printf("%nTasa objetivo: %.0f req/s durante %s%n", ratePerSecond, duration);
+            out.printf("%-20s %10s %10s %10s %10s %10s %10s %9s %11s%n",
+                    "operationId", "peticiones", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "máx ms", "errores", "descartadas");
+
+            Histogram total = new Histogram(3);
+            long errors = 0;
+            long dropped = 0;
+            for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+                Stats operation = entry.getValue();
+                print(out, entry.getKey(), operation.latency, operation.errors.sum(), operation.dropped.sum());
+                total.add(operation.latency);
+                errors += operation.errors.sum();
+                dropped += operation.dropped.sum();
+            }
+            print(out, "TOTAL", total, errors, dropped);
+        }
+
+        private void print(PrintStream out, String name, Histogram latency, long errors, long dropped) {
+            long count = latency.getTotalCount();
+            out.printf("%-20s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %9d %11d%n",
+                    name, count, count / (duration.toMillis() / 1000.0),
+                    millis(latency, 50), millis(latency, 99), millis(latency, 99.9),
+                    latency.getMaxValue() / 1000.0, errors, dropped);
+        }
+
+        private static double millis(Histogram latency, double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package dev.edgeahz.ec.spstore.user_management.loadtest;
+
+import dev.edgeahz.ec.spstore.user_management.UserManagementApplication;
+import dev.edgeahz.ec.spstore.user_management.application.port.input.RoleService;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.AddressRepository;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.PhoneRepository;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.RoleRepository;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.UserAvailabilityIndex;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.UserRepository;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Phone;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Role;
+import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Prueba de carga HTTP de extremo a extremo. Arranca la aplicación con el perfil {@code loadtest}
+ * (H2 en modo MySQL con las migraciones de Flyway) y un {@link StubTokenIssuer} en lugar del
+ * servidor de autorización, siembra usuarios y recorre cada tasa de llegada de {@code loadRates}
+ * con una fase de calentamiento que no se informa.
+ */
+public final class LoadTestRunner {
+
+    private static final int SEED_CHUNK = 1000;
+    private static final String PASSWORD = "Contraseña123!";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        List<Double> rates = Arrays.stream(System.getProperty("loadRates", "200,500,1000").split(","))
+                .map(String::trim)
+                .map(Double::parseDouble)
+                .toList();
+        Duration duration = Duration.parse(System.getProperty("loadDuration", "PT60S"));
+        Duration warmup = Duration.parse(System.getProperty("loadWarmup", "PT15S"));
+        int users = Integer.parseInt(System.getProperty("loadUsers", "1000"));
+
+        try (StubTokenIssuer issuer = StubTokenIssuer.start();
+             ConfigurableApplicationContext context = SpringApplication.run(UserManagementApplication.class,
+                     "--spring.profiles.active=loadtest",
+                     "--server.port=0",
+                     "--spring.security.oauth2.resourceserver.jwt.issuer-uri=" + issuer.issuer(),
+                     "--spring.security.oauth2.resourceserver.jwt.jwk-set-uri=" + issuer.jwkSetUri())) {
+
+            List<Long> roleIds = seedRoles(context);
+            List<Long> userIds = seedUsers(context, users, roleIds);
+
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String token = issuer.token("loadtest", duration.plus(warmup).multipliedBy(rates.size()).plusMinutes(5));
+            List<Operation> mix = mix(URI.create("http://127.0.0.1:" + port), "Bearer " + token, userIds, roleIds, users);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            LoadGenerator generator = new LoadGenerator(client, mix);
+            for (double rate : rates) {
+                generator.run(rate, warmup);
+                generator.run(rate, duration).print(System.out);
+            }
+        }
+    }
+
+    private static List<Long> seedRoles(ConfigurableApplicationContext context) {
+        RoleService roleService = context.getBean(RoleService.class);
+        return Stream.of("USER", "ADMIN", "SUPPORT")
+                .map(name -> roleService.createRole(Role.builder().name(name).description("Rol " + name).build()).getId())
+                .toList();
+    }
+
+    private static List<Long> seedUsers(ConfigurableApplicationContext context, int users, List<Long> roleIds) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        AddressRepository addressRepository = context.getBean(AddressRepository.class);
+        PhoneRepository phoneRepository = context.getBean(PhoneRepository.class);
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        UserAvailabilityIndex availabilityIndex = context.getBean(UserAvailabilityIndex.class);
+        // Un solo hash para todos: sembrar no debe depender del costo de BCrypt
+        String passwordHash = context.getBean(BCryptPasswordEncoder.class).encode(PASSWORD);
+
+        List<Long> userIds = new ArrayList<>(users);
+        for (int from = 0; from < users; from += SEED_CHUNK) {
+            List<User> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(from + SEED_CHUNK, users); i++) {
+                chunk.add(User.builder()
+                        .username("user" + i)
+                        .password(passwordHash)
+                        .email("user" + i + "@example.com")
+                        .firstName("Nombre")
+                        .lastName("Apellido")
+                        .birthDate(LocalDate.of(1990, 1, 1))
+                        .enabled(true)
+                        .build());
+            }
+
+            Map<String, Long> ids = userRepository.insertAll(chunk);
+            List<Address> addresses = new ArrayList<>();
+            List<Phone> phones = new ArrayList<>();
+            Map<Long, List<Long>> roles = new HashMap<>();
+            for (User user : chunk) {
+                Long id = ids.get(user.getUsername());
+                userIds.add(id);
+                availabilityIndex.register(user.getUsername(), user.getEmail());
+                roles.put(id, roleIds.subList(0, 1 + (int) (id % 2)));
+                for (int i = 0; i < 2; i++) {
+                    addresses.add(Address.builder()
+                            .userId(id)
+                            .street("Calle Mayor " + i)
+                            .city("Madrid")
+                            .country("España")
+                            .zipCode("28001")
+                            .isDefault(i == 0)
+                            .build());
+                    phones.add(Phone.builder()
+                            .userId(id)
+                            .type(Phone.PhoneType.MOBILE)
+                            .countryCode("+34")
+                            .number("600" + id + i)
+                            .isDefault(i == 0)
+                            .build());
+                }
+            }
+            addressRepository.insertAll(addresses);
+            phoneRepository.insertAll(phones);
+            roleRepository.assignRolesToUsers(roles);
+        }
+        return userIds;
+    }
+
+    /**
+     * Mezcla de lectura dominante con altas ocasionales. Solo incluye operaciones con
+     * implementación; las demás de api.yaml siguen respondiendo 501.
+     */
+    private static List<Operation> mix(URI base, String authorization, List<Long> userIds, List<Long> roleIds, int users) {
+        AtomicLong created = new AtomicLong();
+        return List.of(
+                new Operation("getUserById", 40, random ->
+                        get(base, "/api/v1/users/" + userIds.get(random.nextInt(userIds.size())), authorization)),
+                new Operation("getAllUsers", 15, random ->
+                        get(base, "/api/v1/users?limit=50", authorization)),
+                new Operation("checkAvailability", 20, random ->
+                        get(base, "/api/v1/users/availability?username=user" + random.nextInt(users * 2), authorization)),
+                new Operation("getAllRoles", 10, random ->
+                        get(base, "/api/v1/roles", authorization)),
+                new Operation("getRoleById", 10, random ->
+                        get(base, "/api/v1/roles/" + roleIds.get(random.nextInt(roleIds.size())), authorization)),
+                new Operation("createUser", 5, random -> {
+                    long n = created.incrementAndGet();
+                    String body = """
+                            {"username":"load%d","password":"%s","email":"load%d@example.com","firstName":"Carga","lastName":"Prueba","birthDate":"1990-01-01"}
+                            """.formatted(n, PASSWORD, n);
+                    return HttpRequest.newBuilder(base.resolve("/api/v1/users"))
+                            .header("Authorization", authorization)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                })
+        );
+    }
+
+    private static HttpRequest get(URI base, String path, String authorization) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+    }
+}
@@ -0,0 +1,12 @@
+package dev.edgeahz.ec.spstore.user_management.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Una operación de api.yaml dentro de la mezcla de carga: su {@code operationId}, su peso relativo
+ * y cómo construir una petición.
+ */
+record Operation(String operationId, int weight, Function<RandomGenerator, HttpRequest> request) {
+}
@@ -2,8 +2,10 @@ package dev.edgeahz.ec.spstore.user_management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class UserManagementApplication {
 
     public static void main(String[] args) {
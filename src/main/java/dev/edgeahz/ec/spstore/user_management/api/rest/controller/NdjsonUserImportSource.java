@@ -0,0 +1,69 @@
+package dev.edgeahz.ec.spstore.user_management.api.rest.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.UserImportRecord;
+import dev.edgeahz.ec.spstore.user_management.application.port.input.UserImportSource;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserImportRow;
+import dev.edgeahz.ec.spstore.user_management.shared.mapper.UserMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Lee un archivo NDJSON guardado en disco, una {@link UserImportRecord} por línea. Una línea mal
+ * formada se entrega como fila inválida en lugar de detener la importación. El archivo se borra al
+ * cerrar.
+ */
+class NdjsonUserImportSource implements UserImportSource {
+
+    private final Path file;
+    private final ObjectReader reader;
+    private final UserMapper mapper;
+
+    NdjsonUserImportSource(Path file, ObjectMapper objectMapper, UserMapper mapper) {
+        this.file = file;
+        this.reader = objectMapper.readerFor(UserImportRecord.class);
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void forEach(Consumer<UserImportRow> consumer) throws IOException {
+        try (BufferedReader lines = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long lineNumber = 0;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    consumer.accept(parse(lineNumber, line));
+                }
+            }
+        }
+    }
+
+    private UserImportRow parse(long lineNumber, String line) {
+        try {
+            UserImportRecord record = reader.readValue(line);
+            return new UserImportRow(
+                    lineNumber,
+                    mapper.toUser(record),
+                    record.getPasswordHash(),
+                    record.getRoles() != null ? record.getRoles() : List.of(),
+                    null
+            );
+        } catch (JsonProcessingException e) {
+            return UserImportRow.invalid(lineNumber, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
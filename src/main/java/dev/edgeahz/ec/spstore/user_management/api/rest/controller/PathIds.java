@@ -0,0 +1,21 @@
+package dev.edgeahz.ec.spstore.user_management.api.rest.controller;
+
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ValidationException;
+
+/**
+ * Los IDs de la ruta llegan como texto desde la interfaz generada. Un valor no numérico es un
+ * error del cliente (400), no una {@link NumberFormatException} que acabe como 500.
+ */
+final class PathIds {
+
+    private PathIds() {
+    }
+
+    static Long parse(String name, String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw ValidationException.of(name, "Debe ser un identificador numérico: " + value);
+        }
+    }
+}
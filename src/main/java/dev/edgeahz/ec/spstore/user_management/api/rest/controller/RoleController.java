@@ -28,7 +28,7 @@ public class RoleController implements RoleApi {
 
     @Override
     public ResponseEntity<Void> deleteRole(String id) {
-        service.deleteRole(Long.parseLong(id));
+        service.deleteRole(PathIds.parse("id", id));
         return ResponseEntity.noContent().build();
     }
 
@@ -45,14 +45,14 @@ public class RoleController implements RoleApi {
 
     @Override
     public ResponseEntity<RoleResponse> getRoleById(String id) {
-        Long roleId = Long.parseLong(id);
+        Long roleId = PathIds.parse("id", id);
         RoleResponse roleResponse = mapper.toRoleResponse(service.getRoleById(roleId));
         return ResponseEntity.ok(roleResponse);
     }
 
     @Override
     public ResponseEntity<RoleResponse> updateRole(String id, RoleRequest roleRequest) {
-        Long roleId = Long.parseLong(id);
+        Long roleId = PathIds.parse("id", id);
         Role role = mapper.toRole(roleRequest);
         RoleResponse roleResponse = mapper.toRoleResponse(service.updateRole(roleId, role));
         return ResponseEntity.ok(roleResponse);
@@ -0,0 +1,198 @@
+package dev.edgeahz.ec.spstore.user_management.api.rest.controller;
+
+import dev.edgeahz.ec.spstore.user_management.api.rest.UserApi;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.AddressRequest;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.AddressResponse;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.AvailabilityResponse;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.CreateUserRequest;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.PhoneRequest;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.PhoneResponse;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.UpdateUserRequest;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.UserPageResponse;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.UserResponse;
+import dev.edgeahz.ec.spstore.user_management.application.port.input.AddressService;
+import dev.edgeahz.ec.spstore.user_management.application.port.input.PhoneService;
+import dev.edgeahz.ec.spstore.user_management.application.port.input.UserAvailabilityService;
+import dev.edgeahz.ec.spstore.user_management.application.port.input.UserService;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Availability;
+import dev.edgeahz.ec.spstore.user_management.domain.model.CursorPage;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Phone;
+import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserFetchPlan;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserSort;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Versioned;
+import dev.edgeahz.ec.spstore.user_management.shared.mapper.UserMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+@RestController
+@RequiredArgsConstructor
+public class UserController implements UserApi {
+
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
+    private final UserService service;
+    private final AddressService addressService;
+    private final PhoneService phoneService;
+    private final UserAvailabilityService availabilityService;
+    private final UserMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final WebRequest webRequest;
+
+    @Override
+    public ResponseEntity<UserPageResponse> getAllUsers(String after, Integer limit, String sort, List<String> expand) {
+        CursorPage<User> page = service.getAllUsers(after, limit, UserSort.fromValue(sort), UserFetchPlan.fromExpand(expand));
+
+        List<UserResponse> users = page.items()
+                .stream()
+                .map(mapper::toUserResponse)
+                .toList();
+
+        UserPageResponse response = new UserPageResponse();
+        response.setItems(users);
+        response.setNextCursor(page.nextCursor());
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    public ResponseEntity<UserResponse> getUserById(String id, List<String> expand) {
+        Long userId = PathIds.parse("id", id);
+        return conditionalGet(service.getVersionedUserById(userId, UserFetchPlan.fromExpand(expand)), mapper::toUserResponse);
+    }
+
+    @Override
+    public ResponseEntity<UserResponse> updateUser(String id, UpdateUserRequest updateUserRequest) {
+        User user = service.updateUser(PathIds.parse("id", id), mapper.toUser(updateUserRequest),
+                updateUserRequest.getEnabled(), expectedVersions());
+        return ResponseEntity.ok(mapper.toUserResponse(user));
+    }
+
+    @Override
+    public ResponseEntity<List<AddressResponse>> getUserAddresses(String id) {
+        Long userId = PathIds.parse("id", id);
+        return conditionalGet(addressService.getVersionedUserAddresses(userId), addresses -> addresses
+                .stream()
+                .map(mapper::toAddressResponse)
+                .toList());
+    }
+
+    @Override
+    public ResponseEntity<AddressResponse> updateUserAddress(String userId, String addressId, AddressRequest addressRequest) {
+        return ResponseEntity.ok(mapper.toAddressResponse(addressService.updateAddress(
+                PathIds.parse("addressId", addressId), PathIds.parse("userId", userId), mapper.toAddress(addressRequest), expectedVersions())));
+    }
+
+    @Override
+    public ResponseEntity<List<PhoneResponse>> getUserPhones(String id) {
+        Long userId = PathIds.parse("id", id);
+        return conditionalGet(phoneService.getVersionedUserPhones(userId), phones -> phones
+                .stream()
+                .map(mapper::toPhoneResponse)
+                .toList());
+    }
+
+    @Override
+    public ResponseEntity<PhoneResponse> updateUserPhone(String userId, String phoneId, PhoneRequest phoneRequest) {
+        return ResponseEntity.ok(mapper.toPhoneResponse(phoneService.updatePhone(
+                PathIds.parse("phoneId", phoneId), PathIds.parse("userId", userId), mapper.toPhone(phoneRequest), expectedVersions())));
+    }
+
+    // Una sola ETag por agregado, compartida por el usuario, sus direcciones y sus teléfonos. Versión y
+    // cuerpo llegan juntos de la misma lectura (la misma transacción, o la misma entrada de la caché):
+    // la ETag nunca acompaña a un cuerpo de otro estado
+    private <V, T> ResponseEntity<T> conditionalGet(Versioned<V> versioned, Function<V, T> toBody) {
+        String etag = "\"" + versioned.version().tag() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(toBody.apply(versioned.value()));
+    }
+
+    // null si no hay If-Match o es "*" (basta con que el usuario exista); las ETag débiles nunca coinciden
+    private Collection<String> expectedVersions() {
+        String ifMatch = webRequest.getHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch == null) {
+            return null;
+        }
+
+        List<ETag> etags = ETag.parse(ifMatch);
+        if (etags.stream().anyMatch(ETag::isWildcard)) {
+            return null;
+        }
+        return etags.stream()
+                .filter(etag -> !etag.weak())
+                .map(ETag::tag)
+                .toList();
+    }
+
+    @Override
+    public ResponseEntity<UserResponse> createUser(CreateUserRequest createUserRequest) {
+        List<Address> addresses = createUserRequest.getAddress() == null
+                ? List.of() : List.of(mapper.toAddress(createUserRequest.getAddress()));
+        List<Phone> phones = createUserRequest.getPhoneNumber() == null
+                ? List.of() : List.of(mapper.toPhone(createUserRequest.getPhoneNumber()));
+
+        // La respuesta se construye con el estado escrito, sin volver a consultar el agregado
+        User user = service.createCompleteUser(mapper.toUser(createUserRequest), addresses, phones, List.of());
+        return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toUserResponse(user));
+    }
+
+    @Override
+    public ResponseEntity<AvailabilityResponse> checkAvailability(String username, String email) {
+        Availability availability = availabilityService.checkAvailability(username, email);
+
+        AvailabilityResponse response = new AvailabilityResponse();
+        response.setUsername(availability.usernameAvailable());
+        response.setEmail(availability.emailAvailable());
+        return ResponseEntity.ok(response);
+    }
+
+    // Exportación NDJSON (una línea JSON por usuario) escrita a medida que se lee de la base de datos
+    @GetMapping(value = "/api/v1/users/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = outputStream -> {
+            long[] written = {0};
+            try {
+                service.exportUsers(user -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(mapper.toUserResponse(user)));
+                        outputStream.write('\n');
+                        if (++written[0] % EXPORT_FLUSH_INTERVAL == 1) {
+                            outputStream.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            outputStream.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+}
@@ -0,0 +1,103 @@
+package dev.edgeahz.ec.spstore.user_management.api.rest.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.UserImportJobResponse;
+import dev.edgeahz.ec.spstore.user_management.application.port.input.UserImportService;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.PayloadTooLargeException;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserImportJob;
+import dev.edgeahz.ec.spstore.user_management.shared.mapper.UserMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Importación masiva NDJSON: como la exportación, se escribe a mano porque el cuerpo se procesa como
+// flujo y no cabe en la firma generada desde la especificación
+@RestController
+public class UserImportController {
+
+    private final UserImportService service;
+    private final UserMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+    private final long maxRows;
+
+    public UserImportController(UserImportService service,
+                                UserMapper mapper,
+                                ObjectMapper objectMapper,
+                                @Value("${user-management.import.max-size:50MB}") DataSize maxSize,
+                                @Value("${user-management.import.max-rows:100000}") long maxRows) {
+        this.service = service;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxSize.toBytes();
+        this.maxRows = maxRows;
+    }
+
+    // El cuerpo se guarda en disco antes de responder; la importación continúa en segundo plano
+    @PostMapping(value = "/api/v1/users/import", consumes = "application/x-ndjson")
+    public ResponseEntity<UserImportJobResponse> importUsers(HttpServletRequest request) throws IOException {
+        // Con Content-Length se rechaza sin leer el cuerpo; en chunked el límite se aplica al copiarlo
+        if (request.getContentLengthLong() > maxBytes) {
+            throw PayloadTooLargeException.importBytes(maxBytes);
+        }
+
+        Path file = Files.createTempFile("user-import-", ".ndjson");
+
+        UserImportJob job;
+        try (InputStream body = request.getInputStream()) {
+            copyWithinLimits(body, file);
+            job = service.startImport(new NdjsonUserImportSource(file, objectMapper, mapper));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/users/import/" + job.getId()))
+                .body(mapper.toUserImportJobResponse(job));
+    }
+
+    // Las líneas en blanco también cuentan: el límite acota el trabajo antes de analizar el archivo
+    private void copyWithinLimits(InputStream body, Path file) throws IOException {
+        byte[] buffer = new byte[8192];
+        long bytes = 0;
+        long lines = 0;
+
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                bytes += read;
+                if (bytes > maxBytes) {
+                    throw PayloadTooLargeException.importBytes(maxBytes);
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+                // Una última línea sin salto también es una fila
+                if (lines > maxRows || (lines == maxRows && buffer[read - 1] != '\n')) {
+                    throw PayloadTooLargeException.importRows(maxRows);
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    @GetMapping("/api/v1/users/import/{jobId}")
+    public ResponseEntity<UserImportJobResponse> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(mapper.toUserImportJobResponse(service.getImportJob(jobId)));
+    }
+}
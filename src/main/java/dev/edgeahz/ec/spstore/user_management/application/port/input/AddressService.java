@@ -1,14 +1,21 @@
 package dev.edgeahz.ec.spstore.user_management.application.port.input;
 
 import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Versioned;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AddressService {
     List<Address> getUserAddresses(Long userId);
+    Versioned<List<Address>> getVersionedUserAddresses(Long userId);
     Address getAddressById(Long addressId, Long userId);
     Address createAddress(Address address, Long userId);
-    Address updateAddress(Long addressId, Long userId, Address addressDetails);
+    Address updateAddress(Long addressId, Long userId, Address addressDetails, Collection<String> expectedVersions);
     void deleteAddress(Long addressId, Long userId);
     void unsetDefaultAddresses(Long userId);
+
+    default Address updateAddress(Long addressId, Long userId, Address addressDetails) {
+        return updateAddress(addressId, userId, addressDetails, null);
+    }
 }
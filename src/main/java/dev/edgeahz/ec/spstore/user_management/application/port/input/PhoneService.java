@@ -1,14 +1,21 @@
 package dev.edgeahz.ec.spstore.user_management.application.port.input;
 
 import dev.edgeahz.ec.spstore.user_management.domain.model.Phone;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Versioned;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface PhoneService {
     List<Phone> getUserPhones(Long userId);
+    Versioned<List<Phone>> getVersionedUserPhones(Long userId);
     Phone getPhoneById(Long phoneId, Long userId);
     Phone createPhone(Phone phone, Long userId);
-    Phone updatePhone(Long phoneId, Long userId, Phone phoneDetails);
+    Phone updatePhone(Long phoneId, Long userId, Phone phoneDetails, Collection<String> expectedVersions);
     void deletePhone(Long phoneId, Long userId);
     void unsetDefaultPhones(Long userId);
+
+    default Phone updatePhone(Long phoneId, Long userId, Phone phoneDetails) {
+        return updatePhone(phoneId, userId, phoneDetails, null);
+    }
 }
@@ -0,0 +1,7 @@
+package dev.edgeahz.ec.spstore.user_management.application.port.input;
+
+import dev.edgeahz.ec.spstore.user_management.domain.model.Availability;
+
+public interface UserAvailabilityService {
+    Availability checkAvailability(String username, String email);
+}
@@ -0,0 +1,8 @@
+package dev.edgeahz.ec.spstore.user_management.application.port.input;
+
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserImportJob;
+
+public interface UserImportService {
+    UserImportJob startImport(UserImportSource source);
+    UserImportJob getImportJob(String jobId);
+}
@@ -0,0 +1,17 @@
+package dev.edgeahz.ec.spstore.user_management.application.port.input;
+
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserImportRow;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Origen de filas de una importación. Se recorre una sola vez desde el hilo de la importación y se
+ * cierra al terminar, con éxito o no.
+ */
+public interface UserImportSource extends AutoCloseable {
+    void forEach(Consumer<UserImportRow> consumer) throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
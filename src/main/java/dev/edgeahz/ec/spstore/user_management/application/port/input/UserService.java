@@ -1,18 +1,32 @@
 package dev.edgeahz.ec.spstore.user_management.application.port.input;
 
 import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
+import dev.edgeahz.ec.spstore.user_management.domain.model.CursorPage;
 import dev.edgeahz.ec.spstore.user_management.domain.model.Phone;
 import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserFetchPlan;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserSort;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserVersion;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Versioned;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
-    List<User> getAllUsers();
+    CursorPage<User> getAllUsers(String after, Integer limit, UserSort sort, UserFetchPlan plan);
+    void exportUsers(Consumer<User> consumer);
     User getUserById(Long id);
+    User getUserById(Long id, UserFetchPlan plan);
+    UserVersion getUserVersion(Long id);
+    Versioned<User> getVersionedUserById(Long id, UserFetchPlan plan);
     User getUserByUsername(String username);
     User getUserByEmail(String email);
     User createUser(User user);
-    User updateUser(Long id, User userDetails);
+    /**
+     * @param enabled nuevo estado de la cuenta, o {@code null} para conservar el actual
+     */
+    User updateUser(Long id, User userDetails, Boolean enabled, Collection<String> expectedVersions);
     void deleteUser(Long id);
     void changePassword(Long id, String currentPassword, String newPassword);
     Address addAddress(Long userId, Address address);
@@ -20,4 +34,8 @@ public interface UserService {
     void assignRole(Long userId, Long roleId);
     void removeRole(Long userId, Long roleId);
     User createCompleteUser(User user, List<Address> addresses, List<Phone> phones, List<Long> roleIds);
+
+    default User updateUser(Long id, User userDetails) {
+        return updateUser(id, userDetails, userDetails.isEnabled(), null);
+    }
 }
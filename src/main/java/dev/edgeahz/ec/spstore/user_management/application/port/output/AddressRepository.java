@@ -2,14 +2,24 @@ package dev.edgeahz.ec.spstore.user_management.application.port.output;
 
 import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface AddressRepository {
     List<Address> findAllByUserId(Long userId);
+    Map<Long, List<Address>> findAllByUserIds(Collection<Long> userIds);
     Optional<Address> findById(Long id);
     Optional<Address> findByIdAndUserId(Long id, Long userId);
     Address save(Address address);
+    /**
+     * Desmarca el predeterminado del usuario salvo {@code exceptId} (el registro que pasa a serlo, o
+     * {@code null}). Cada fila desmarcada cambia de versión.
+     */
+    int unsetDefault(Long userId, Long exceptId);
+    void insertAll(List<Address> addresses);
+    List<Address> insertAllForNewUser(Long userId, List<Address> addresses);
     void deleteById(Long id);
     void deleteByIdAndUserId(Long id, Long userId);
 }
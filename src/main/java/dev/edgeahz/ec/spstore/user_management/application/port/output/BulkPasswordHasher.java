@@ -0,0 +1,7 @@
+package dev.edgeahz.ec.spstore.user_management.application.port.output;
+
+import java.util.List;
+
+public interface BulkPasswordHasher {
+    List<String> encodeAll(List<String> rawPasswords);
+}
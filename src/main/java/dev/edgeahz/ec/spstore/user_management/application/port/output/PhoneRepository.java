@@ -2,14 +2,24 @@ package dev.edgeahz.ec.spstore.user_management.application.port.output;
 
 import dev.edgeahz.ec.spstore.user_management.domain.model.Phone;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface PhoneRepository {
     List<Phone> findAllByUserId(Long userId);
+    Map<Long, List<Phone>> findAllByUserIds(Collection<Long> userIds);
     Optional<Phone> findById(Long id);
     Optional<Phone> findByIdAndUserId(Long id, Long userId);
     Phone save(Phone phone);
+    /**
+     * Desmarca el predeterminado del usuario salvo {@code exceptId} (el registro que pasa a serlo, o
+     * {@code null}). Cada fila desmarcada cambia de versión.
+     */
+    int unsetDefault(Long userId, Long exceptId);
+    void insertAll(List<Phone> phones);
+    List<Phone> insertAllForNewUser(Long userId, List<Phone> phones);
     void deleteById(Long id);
     void deleteByIdAndUserId(Long id, Long userId);
 }
@@ -2,7 +2,9 @@ package dev.edgeahz.ec.spstore.user_management.application.port.output;
 
 import dev.edgeahz.ec.spstore.user_management.domain.model.Role;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface RoleRepository {
@@ -12,6 +14,8 @@ public interface RoleRepository {
     Role save(Role role);
     void deleteById(Long id);
     List<Role> findAllByUserId(Long userId);
+    Map<Long, List<Role>> findAllByUserIds(Collection<Long> userIds);
     void assignRoleToUser(Long userId, Long roleId);
+    void assignRolesToUsers(Map<Long, ? extends Collection<Long>> roleIdsByUserId);
     void removeRoleFromUser(Long userId, Long roleId);
 }
@@ -0,0 +1,11 @@
+package dev.edgeahz.ec.spstore.user_management.application.port.output;
+
+public interface UserAvailabilityIndex {
+    /**
+     * {@code true} solo si un negativo de {@code mightContain*} es definitivo.
+     */
+    boolean isReady();
+    boolean mightContainUsername(String username);
+    boolean mightContainEmail(String email);
+    void register(String username, String email);
+}
@@ -0,0 +1,6 @@
+package dev.edgeahz.ec.spstore.user_management.application.port.output;
+
+public interface UserCache {
+    void evict(Long userId);
+    void evictAll();
+}
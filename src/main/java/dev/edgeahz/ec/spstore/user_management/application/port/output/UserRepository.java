@@ -1,17 +1,54 @@
 package dev.edgeahz.ec.spstore.user_management.application.port.output;
 
 import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserCursor;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserFetchPlan;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserSort;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserVersion;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Versioned;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public interface UserRepository {
     List<User> findAll();
-    Optional<User> findById(Long id);
-    Optional<User> findByUsername(String username);
-    Optional<User> findByEmail(String email);
+    List<User> findPage(UserCursor after, int limit, UserSort sort, UserFetchPlan plan);
+    void streamAll(Consumer<User> consumer);
+    void streamUsernamesAndEmails(int fetchSize, BiConsumer<String, String> consumer);
+    Optional<User> findById(Long id, UserFetchPlan plan);
+    Optional<User> findByUsername(String username, UserFetchPlan plan);
+    Optional<User> findByEmail(String email, UserFetchPlan plan);
+    boolean existsById(Long id);
+    boolean lockById(Long id);
+    Optional<UserVersion> findVersion(Long id);
+
+    /**
+     * El usuario con la versión del agregado. Solo son de la misma instantánea si se llama dentro de
+     * una transacción.
+     */
+    Optional<Versioned<User>> findVersionedById(Long id, UserFetchPlan plan);
     User save(User user);
+    Map<String, Long> insertAll(List<User> users);
     void deleteById(Long id);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    Set<String> findExistingUsernames(Collection<String> usernames);
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    default Optional<User> findById(Long id) {
+        return findById(id, UserFetchPlan.FULL);
+    }
+
+    default Optional<User> findByUsername(String username) {
+        return findByUsername(username, UserFetchPlan.FULL);
+    }
+
+    default Optional<User> findByEmail(String email) {
+        return findByEmail(email, UserFetchPlan.FULL);
+    }
 }
@@ -2,131 +2,193 @@ package dev.edgeahz.ec.spstore.user_management.application.service;
 
 import dev.edgeahz.ec.spstore.user_management.application.port.input.AddressService;
 import dev.edgeahz.ec.spstore.user_management.application.port.output.AddressRepository;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.UserCache;
 import dev.edgeahz.ec.spstore.user_management.application.port.output.UserRepository;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.DuplicateResourceException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.ResourceNotFoundException;
 import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserVersion;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Versioned;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class AddressServiceImpl implements AddressService {
 
     private final UserRepository userRepository;
     private final AddressRepository addressRepository;
+    private final UserCache userCache;
+    private final UserVersionGuard versionGuard;
 
     @Override
     public List<Address> getUserAddresses(Long userId) {
         log.info("Obteniendo direcciones para usuario con ID: {}", userId);
-        userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", userId));
+        ensureUserExists(userId);
 
         List<Address> addresses = addressRepository.findAllByUserId(userId);
         log.info("Se encontraron {} direcciones para el usuario con ID: {}", addresses.size(), userId);
         return addresses;
     }
 
+    // La ETag sale de la versión leída en la misma transacción que la lista, que además comprueba
+    // que el usuario existe
     @Override
-    public Address getAddressById(Long addressId, Long userId) {
-        log.info("Buscando dirección con ID: {} para el usuario con ID: {}", addressId, userId);
-        userRepository.findById(userId)
+    public Versioned<List<Address>> getVersionedUserAddresses(Long userId) {
+        log.info("Obteniendo direcciones para el usuario con ID: {}", userId);
+        UserVersion version = userRepository.findVersion(userId)
                 .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", userId);
+                    log.debug("No se encontró el usuario con ID: {}", userId);
                     return new ResourceNotFoundException("User", userId);
                 });
 
+        return new Versioned<>(addressRepository.findAllByUserId(userId), version);
+    }
+
+    @Override
+    public Address getAddressById(Long addressId, Long userId) {
+        log.info("Buscando dirección con ID: {} para el usuario con ID: {}", addressId, userId);
+        ensureUserExists(userId);
+
         return addressRepository.findByIdAndUserId(addressId, userId)
                 .orElseThrow(() -> {
-                    log.error("No se encontró la dirección con ID: {} para el usuario con ID: {}", addressId, userId);
+                    log.debug("No se encontró la dirección con ID: {} para el usuario con ID: {}", addressId, userId);
                     return new ResourceNotFoundException("Address", addressId);
                 });
     }
 
     @Override
+    @Transactional
     public Address createAddress(Address address, Long userId) {
         log.info("Guardando dirección: {} , para el usuario con ID: {}", address, userId);
-        userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", userId);
-                    return new ResourceNotFoundException("User", userId);
-                });
+        lockUser(userId);
 
         if (address.isDefault()) {
             unsetDefaultAddresses(userId);
         }
 
         address.setUserId(userId);
-        Address savedAddress = addressRepository.save(address);
+        Address savedAddress = saveAddress(address, userId);
+        userCache.evict(userId);
 
         log.info("Dirección guardada con ID: {}", savedAddress.getId());
         return savedAddress;
     }
 
     @Override
-    public Address updateAddress(Long addressId, Long userId, Address addressDetails) {
+    @Transactional
+    public Address updateAddress(Long addressId, Long userId, Address addressDetails, Collection<String> expectedVersions) {
         log.info("Actualizando dirección con ID: {} para el usuario con ID: {}", addressId, userId);
-        userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", userId);
-                    return new ResourceNotFoundException("User", userId);
-                });
 
+        // Solo se bloquea el usuario para comprobar If-Match o para mover el predeterminado; el resto
+        // es un UPDATE condicionado a la versión que ante una escritura concurrente falla con 409
+        if (expectedVersions != null || addressDetails.isDefault()) {
+            lockUser(userId);
+            versionGuard.check(userId, expectedVersions);
+        }
+
+        if (addressDetails.isDefault()) {
+            unsetDefaultAddresses(userId, addressId);
+        }
+
+        // Como en updatePhone: se parte de la fila guardada y solo se aplican los campos presentes en la
+        // petición, así que un campo opcional ausente no se escribe como NULL
         Address address = addressRepository.findByIdAndUserId(addressId, userId)
                 .orElseThrow(() -> {
-                    log.error("No se encontró la dirección con ID: {} para el usuario con ID: {}", addressId, userId);
+                    log.debug("No se encontró la dirección con ID: {} para el usuario con ID: {}", addressId, userId);
                     return new ResourceNotFoundException("Address", addressId);
                 });
-
-        if (addressDetails.isDefault()) {
-            unsetDefaultAddresses(userId);
+        if (addressDetails.getStreet() != null) {
+            address.setStreet(addressDetails.getStreet());
+        }
+        if (addressDetails.getCity() != null) {
+            address.setCity(addressDetails.getCity());
+        }
+        if (addressDetails.getState() != null) {
+            address.setState(addressDetails.getState());
+        }
+        if (addressDetails.getCountry() != null) {
+            address.setCountry(addressDetails.getCountry());
+        }
+        if (addressDetails.getZipCode() != null) {
+            address.setZipCode(addressDetails.getZipCode());
+        }
+        if (addressDetails.getLabel() != null) {
+            address.setLabel(addressDetails.getLabel());
         }
-
-        address.setStreet(addressDetails.getStreet());
-        address.setCity(addressDetails.getCity());
-        address.setState(addressDetails.getState());
-        address.setZipCode(addressDetails.getZipCode());
-        address.setCountry(addressDetails.getCountry());
         address.setDefault(addressDetails.isDefault());
+        if (addressDetails.getVersion() != null) {
+            address.setVersion(addressDetails.getVersion());
+        }
 
-        Address updatedAddress = addressRepository.save(address);
+        // save deja updatedAt y la versión nueva en la instancia: la respuesta no necesita otra lectura
+        Address updatedAddress = saveAddress(address, userId);
+        userCache.evict(userId);
 
         log.info("Dirección actualizada con ID: {}", updatedAddress.getId());
         return updatedAddress;
     }
 
     @Override
+    @Transactional
     public void deleteAddress(Long addressId, Long userId) {
         log.info("Eliminando dirección con ID: {} para el usuario con ID: {}", addressId, userId);
-        userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", userId);
-                    return new ResourceNotFoundException("User", userId);
-                });
+        ensureUserExists(userId);
 
         addressRepository.findByIdAndUserId(addressId, userId)
                 .orElseThrow(() -> {
-                    log.error("No se encontró la dirección con ID: {} para el usuario con ID: {}", addressId, userId);
+                    log.debug("No se encontró la dirección con ID: {} para el usuario con ID: {}", addressId, userId);
                     return new ResourceNotFoundException("Address", addressId);
                 });
 
         addressRepository.deleteByIdAndUserId(addressId, userId);
+        userCache.evict(userId);
         log.info("Dirección con ID: {} eliminada exitosamente", addressId);
     }
 
     @Override
+    @Transactional
     public void unsetDefaultAddresses(Long userId) {
+        unsetDefaultAddresses(userId, null);
+    }
+
+    private void unsetDefaultAddresses(Long userId, Long exceptId) {
         log.info("Desmarcando todas las direcciones como predeterminadas para el usuario con ID: {}", userId);
 
-        List<Address> addresses = addressRepository.findAllByUserId(userId);
-        addresses.stream()
-                .filter(Address::isDefault)
-                .forEach(address -> {
-                    address.setDefault(false);
-                    addressRepository.save(address);
-                });
+        int updated = addressRepository.unsetDefault(userId, exceptId);
+        log.info("Se desmarcaron {} direcciones predeterminadas para el usuario con ID: {}", updated, userId);
+    }
+
+    // El índice único sobre default_owner_id rechaza un segundo predeterminado para el mismo usuario
+    private Address saveAddress(Address address, Long userId) {
+        try {
+            return addressRepository.save(address);
+        } catch (DuplicateKeyException e) {
+            log.debug("El usuario con ID: {} ya tiene un registro predeterminado", userId);
+            throw new DuplicateResourceException("Address", "isDefault", "true");
+        }
+    }
+
+    // Bloquea la fila del usuario hasta el fin de la transacción para serializar el cambio de predeterminado
+    private void lockUser(Long userId) {
+        if (!userRepository.lockById(userId)) {
+            log.debug("No se encontró el usuario con ID: {}", userId);
+            throw new ResourceNotFoundException("User", userId);
+        }
+    }
+
+    private void ensureUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            log.debug("No se encontró el usuario con ID: {}", userId);
+            throw new ResourceNotFoundException("User", userId);
+        }
     }
 }
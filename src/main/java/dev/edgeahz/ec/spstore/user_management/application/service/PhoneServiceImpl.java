@@ -2,137 +2,195 @@ package dev.edgeahz.ec.spstore.user_management.application.service;
 
 import dev.edgeahz.ec.spstore.user_management.application.port.input.PhoneService;
 import dev.edgeahz.ec.spstore.user_management.application.port.output.PhoneRepository;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.UserCache;
 import dev.edgeahz.ec.spstore.user_management.application.port.output.UserRepository;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.DuplicateResourceException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.ResourceNotFoundException;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ValidationException;
 import dev.edgeahz.ec.spstore.user_management.domain.model.Phone;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserVersion;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Versioned;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class PhoneServiceImpl implements PhoneService {
 
     private final UserRepository userRepository;
     private final PhoneRepository phoneRepository;
+    private final UserCache userCache;
+    private final UserVersionGuard versionGuard;
 
     @Override
     public List<Phone> getUserPhones(Long userId) {
         log.info("Obteniendo teléfonos para el usuario con ID: {}", userId);
 
-        userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", userId);
-                    return new ResourceNotFoundException("User", userId);
-                });
+        ensureUserExists(userId);
 
         List<Phone> phones = phoneRepository.findAllByUserId(userId);
         log.info("Se encontraron {} teléfonos para el usuario con ID: {}", phones.size(), userId);
         return phones;
     }
 
+    // La ETag sale de la versión leída en la misma transacción que la lista, que además comprueba
+    // que el usuario existe
     @Override
-    public Phone getPhoneById(Long phoneId, Long userId) {
-        log.info("Buscando teléfono con ID: {} para el usuario con ID: {}", phoneId, userId);
-
-        userRepository.findById(userId)
+    public Versioned<List<Phone>> getVersionedUserPhones(Long userId) {
+        log.info("Obteniendo teléfonos para el usuario con ID: {}", userId);
+        UserVersion version = userRepository.findVersion(userId)
                 .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", userId);
+                    log.debug("No se encontró el usuario con ID: {}", userId);
                     return new ResourceNotFoundException("User", userId);
                 });
 
+        return new Versioned<>(phoneRepository.findAllByUserId(userId), version);
+    }
+
+    @Override
+    public Phone getPhoneById(Long phoneId, Long userId) {
+        log.info("Buscando teléfono con ID: {} para el usuario con ID: {}", phoneId, userId);
+
+        ensureUserExists(userId);
+
         return phoneRepository.findByIdAndUserId(phoneId, userId)
                 .orElseThrow(() -> {
-                    log.error("No se encontró el teléfono con ID: {} para el usuario con ID: {}", phoneId, userId);
+                    log.debug("No se encontró el teléfono con ID: {} para el usuario con ID: {}", phoneId, userId);
                     return new ResourceNotFoundException("Phone", phoneId);
                 });
     }
 
     @Override
+    @Transactional
     public Phone createPhone(Phone phone, Long userId) {
         log.info("Guardando teléfono: {} para el usuario con ID: {}", phone, userId);
 
-        userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", userId);
-                    return new ResourceNotFoundException("User", userId);
-                });
+        requireType(phone);
+        lockUser(userId);
 
         if (phone.isDefault()) {
             unsetDefaultPhones(userId);
         }
 
         phone.setUserId(userId);
-        Phone phoneSaved = phoneRepository.save(phone);
+        Phone phoneSaved = savePhone(phone, userId);
+        userCache.evict(userId);
 
         log.info("Teléfono guardado con ID: {}", phoneSaved.getId());
         return phoneSaved;
     }
 
     @Override
-    public Phone updatePhone(Long phoneId, Long userId, Phone phoneDetails) {
+    @Transactional
+    public Phone updatePhone(Long phoneId, Long userId, Phone phoneDetails, Collection<String> expectedVersions) {
         log.info("Actualizando teléfono con ID: {} para el usuario con ID: {}", phoneId, userId);
 
-        userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", userId);
-                    return new ResourceNotFoundException("User", userId);
-                });
+        if (expectedVersions != null || phoneDetails.isDefault()) {
+            lockUser(userId);
+            versionGuard.check(userId, expectedVersions);
+        }
+
+        if (phoneDetails.isDefault()) {
+            unsetDefaultPhones(userId, phoneId);
+        }
 
+        // Se parte de la fila guardada (leída después de desmarcar el predeterminado) y solo se aplican
+        // los campos presentes en la petición: un campo ausente no se escribe como NULL
         Phone phone = phoneRepository.findByIdAndUserId(phoneId, userId)
                 .orElseThrow(() -> {
-                    log.error("No se encontró el teléfono con ID: {} para el usuario con ID: {}", phoneId, userId);
+                    log.debug("No se encontró el teléfono con ID: {} para el usuario con ID: {}", phoneId, userId);
                     return new ResourceNotFoundException("Phone", phoneId);
                 });
-
-        if (phoneDetails.isDefault()) {
-            unsetDefaultPhones(userId);
+        if (phoneDetails.getNumber() != null) {
+            phone.setNumber(phoneDetails.getNumber());
+        }
+        if (phoneDetails.getCountryCode() != null) {
+            phone.setCountryCode(phoneDetails.getCountryCode());
+        }
+        if (phoneDetails.getType() != null) {
+            phone.setType(phoneDetails.getType());
         }
-
-        phone.setType(phoneDetails.getType());
-        phone.setCountryCode(phoneDetails.getCountryCode());
-        phone.setNumber(phoneDetails.getNumber());
         phone.setDefault(phoneDetails.isDefault());
+        if (phoneDetails.getVersion() != null) {
+            phone.setVersion(phoneDetails.getVersion());
+        }
 
-        Phone updatedPhone = phoneRepository.save(phone);
+        // save deja updatedAt y la versión nueva en la instancia: la respuesta no necesita otra lectura
+        Phone updatedPhone = savePhone(phone, userId);
+        userCache.evict(userId);
 
         log.info("Teléfono actualizado con ID: {}", updatedPhone.getId());
         return updatedPhone;
     }
 
     @Override
+    @Transactional
     public void deletePhone(Long phoneId, Long userId) {
         log.info("Eliminando teléfono con ID: {} para el usuario con ID: {}", phoneId, userId);
 
-        userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", userId);
-                    return new ResourceNotFoundException("User", userId);
-                });
+        ensureUserExists(userId);
 
         phoneRepository.findByIdAndUserId(phoneId, userId)
                 .orElseThrow(() -> {
-                    log.error("No se encontró el teléfono con ID: {} para el usuario con ID: {}", phoneId, userId);
+                    log.debug("No se encontró el teléfono con ID: {} para el usuario con ID: {}", phoneId, userId);
                     return new ResourceNotFoundException("Phone", phoneId);
                 });
 
         phoneRepository.deleteByIdAndUserId(phoneId, userId);
+        userCache.evict(userId);
         log.info("Teléfono con ID: {} eliminado exitosamente", phoneId);
     }
 
     @Override
+    @Transactional
     public void unsetDefaultPhones(Long userId) {
+        unsetDefaultPhones(userId, null);
+    }
+
+    private void unsetDefaultPhones(Long userId, Long exceptId) {
         log.info("Desmarcando teléfonos por defecto para el usuario con ID: {}", userId);
 
-        List<Phone> defaultPhones = phoneRepository.findAllByUserId(userId);
-        defaultPhones.stream()
-                .filter(Phone::isDefault)
-                .forEach(phone -> {
-                    phone.setDefault(false);
-                    phoneRepository.save(phone);
-                });
+        int updated = phoneRepository.unsetDefault(userId, exceptId);
+        log.info("Se desmarcaron {} teléfonos predeterminados para el usuario con ID: {}", updated, userId);
+    }
+
+    // Un segundo teléfono predeterminado viola uk_phones_default_owner
+    private Phone savePhone(Phone phone, Long userId) {
+        try {
+            return phoneRepository.save(phone);
+        } catch (DuplicateKeyException e) {
+            log.debug("El usuario con ID: {} ya tiene un registro predeterminado", userId);
+            throw new DuplicateResourceException("Phone", "isDefault", "true");
+        }
+    }
+
+    // La columna no tiene valor por defecto: sin tipo, el INSERT fallaría con un 500
+    static void requireType(Phone phone) {
+        if (phone.getType() == null) {
+            throw ValidationException.of("type", "El tipo de teléfono es obligatorio: MOBILE, HOME, WORK u OTHER");
+        }
+    }
+
+    // FOR UPDATE sobre el usuario: dos cambios de teléfono predeterminado no se intercalan
+    private void lockUser(Long userId) {
+        if (!userRepository.lockById(userId)) {
+            log.debug("No se encontró el usuario con ID: {}", userId);
+            throw new ResourceNotFoundException("User", userId);
+        }
+    }
+
+    private void ensureUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            log.debug("No se encontró el usuario con ID: {}", userId);
+            throw new ResourceNotFoundException("User", userId);
+        }
     }
 }
@@ -0,0 +1,41 @@
+package dev.edgeahz.ec.spstore.user_management.application.service;
+
+import dev.edgeahz.ec.spstore.user_management.domain.model.Role;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Instantánea inmutable del catálogo de roles, indexada por ID y por nombre. Cada modificación
+ * produce una nueva instancia para que los lectores nunca vean un estado intermedio.
+ */
+record RoleCatalog(Map<Long, Role> byId, Map<String, Role> byName, List<Role> all) {
+
+    static RoleCatalog of(Collection<Role> roles) {
+        Map<Long, Role> byId = roles.stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getId, Function.identity()));
+        Map<String, Role> byName = roles.stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getName, Function.identity()));
+        List<Role> all = roles.stream()
+                .sorted(Comparator.comparing(Role::getId))
+                .toList();
+        return new RoleCatalog(byId, byName, all);
+    }
+
+    RoleCatalog with(Role role) {
+        Map<Long, Role> roles = new HashMap<>(byId);
+        roles.put(role.getId(), role);
+        return of(roles.values());
+    }
+
+    RoleCatalog without(Long id) {
+        Map<Long, Role> roles = new HashMap<>(byId);
+        roles.remove(id);
+        return of(roles.values());
+    }
+}
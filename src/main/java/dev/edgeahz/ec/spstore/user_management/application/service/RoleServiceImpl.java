@@ -2,27 +2,132 @@ package dev.edgeahz.ec.spstore.user_management.application.service;
 
 import dev.edgeahz.ec.spstore.user_management.application.port.input.RoleService;
 import dev.edgeahz.ec.spstore.user_management.application.port.output.RoleRepository;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.UserCache;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.ResourceNotFoundException;
 import dev.edgeahz.ec.spstore.user_management.domain.model.Role;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository repository;
+    private final UserCache userCache;
+
+    // Catálogo en memoria: las escrituras de este nodo lo actualizan al instante y el refresco
+    // periódico recoge los cambios hechos por otros nodos
+    private final AtomicReference<RoleCatalog> catalog = new AtomicReference<>();
+    private final TransactionTemplate primaryRead;
+
+    public RoleServiceImpl(RoleRepository repository, UserCache userCache, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.userCache = userCache;
+        // Como las cargas de CachingUserRepository: una transacción propia que no es de solo lectura
+        // va al primario. Una réplica con retraso borraría del catálogo los roles recién confirmados
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setName("role-catalog-load");
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Scheduled(
+            initialDelayString = "${user-management.roles.catalog-refresh-interval:PT5M}",
+            fixedDelayString = "${user-management.roles.catalog-refresh-interval:PT5M}"
+    )
+    public void refreshCatalog() {
+        RoleCatalog current = catalog.get();
+        RoleCatalog loaded = loadCatalog();
+
+        // Si una escritura actualizó el catálogo mientras se leía la tabla, se conserva esa versión
+        if (catalog.compareAndSet(current, loaded)) {
+            log.debug("Catálogo de roles recargado con {} roles", loaded.all().size());
+        }
+    }
+
+    private RoleCatalog catalog() {
+        RoleCatalog current = catalog.get();
+        if (current == null) {
+            catalog.compareAndSet(null, loadCatalog());
+            current = catalog.get();
+        }
+        return current;
+    }
+
+    private RoleCatalog loadCatalog() {
+        return primaryRead.execute(status -> RoleCatalog.of(repository.findAll()));
+    }
+
+    private Optional<Role> findCachedById(Long id) {
+        Role cached = catalog().byId().get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        // Rol creado en otro nodo desde el último refresco
+        Optional<Role> role = repository.findById(id);
+        role.ifPresent(found -> catalog.updateAndGet(current -> current.with(found)));
+        return role;
+    }
+
+    private Optional<Role> findCachedByName(String name) {
+        Role cached = catalog().byName().get(name);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Role> role = repository.findByName(name);
+        role.ifPresent(found -> catalog.updateAndGet(current -> current.with(found)));
+        return role;
+    }
+
+    private Role writeThrough(Long id) {
+        Role role = repository.findById(id)
+                .orElseThrow(() -> {
+                    log.debug("No se encontró el rol con ID: {}", id);
+                    return new ResourceNotFoundException("Role", id);
+                });
+        afterCommit(current -> current.with(role));
+        return role;
+    }
+
+    // El catálogo es compartido por todas las peticiones: un cambio solo se publica si la transacción
+    // confirma. Tras un rollback el catálogo no conserva un rol que no existe ni pierde uno que sí
+    private void afterCommit(UnaryOperator<RoleCatalog> change) {
+        // Garantiza que el catálogo esté inicializado antes de aplicar la escritura
+        catalog();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            catalog.updateAndGet(change);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                catalog.updateAndGet(change);
+            }
+        });
+    }
 
     @Override
     public List<Role> getAllRoles() {
         log.info("Obteniendo todos los roles del sistema");
 
-        List<Role> roles = repository.findAll();
+        List<Role> roles = catalog().all();
 
         log.info("Se encontraron {} roles en el sistema", roles.size());
         return roles;
@@ -32,13 +137,13 @@ public class RoleServiceImpl implements RoleService {
     public Role getRoleById(Long id) {
         log.info("Buscando rol con ID: {}", id);
 
-        return repository.findById(id)
+        return findCachedById(id)
                 .map(role -> {
                     log.info("Rol encontrado: {} (ID: {})", role.getName(), role.getId());
                     return role;
                 })
                 .orElseThrow(() -> {
-                    log.error("No se encontró el rol con ID: {}", id);
+                    log.debug("No se encontró el rol con ID: {}", id);
                     return new ResourceNotFoundException("Role", id);
                 });
     }
@@ -47,54 +152,68 @@ public class RoleServiceImpl implements RoleService {
     public Role getRoleByName(String name) {
         log.info("Buscando rol con nombre: {}", name);
 
-        return repository.findByName(name)
+        return findCachedByName(name)
                 .map(role -> {
                     log.info("Rol encontrado: {} (ID: {})", role.getName(), role.getId());
                     return role;
                 })
                 .orElseThrow(() -> {
-                    log.error("No se encontró el rol con nombre: {}", name);
+                    log.debug("No se encontró el rol con nombre: {}", name);
                     return new ResourceNotFoundException("Role", "name", name);
                 });
     }
 
     @Override
+    @Transactional
     public Role createRole(Role role) {
         log.info("Creando nuevo rol: {}", role.getName());
 
-        Role savedRole = repository.save(role);
+        Role savedRole = writeThrough(repository.save(role).getId());
 
         log.info("Rol creado exitosamente con ID: {}", savedRole.getId());
         return savedRole;
     }
 
     @Override
+    @Transactional
     public Role updateRole(Long id, Role role) {
         log.info("Actualizando rol con ID: {} a: {}", id, role.getName());
 
-        role.setId(id);
-        return Optional.ofNullable(repository.save(role))
-                .map(updatedRole -> {
-                    log.info("Rol actualizado exitosamente: {} (ID: {})", updatedRole.getName(), updatedRole.getId());
-                    return updatedRole;
-                })
+        // Se parte de la fila actual: el UPDATE lleva solo las columnas que cambian, o no se envía
+        Role current = repository.findById(id)
                 .orElseThrow(() -> {
-                    log.error("Error al actualizar el rol con ID: {}", id);
+                    log.debug("No se encontró el rol con ID: {}", id);
                     return new ResourceNotFoundException("Role", id);
                 });
+        current.setName(role.getName());
+        current.setDescription(role.getDescription());
+        if (current.changedAttributes().isEmpty()) {
+            log.info("El rol con ID: {} no tiene cambios", id);
+            return current;
+        }
+        current.setUpdatedBy(role.getUpdatedBy());
+
+        Role updatedRole = writeThrough(repository.save(current).getId());
+        // El rol va embebido en cada agregado de usuario cacheado
+        userCache.evictAll();
+        log.info("Rol actualizado exitosamente: {} (ID: {})", updatedRole.getName(), updatedRole.getId());
+        return updatedRole;
     }
 
     @Override
+    @Transactional
     public void deleteRole(Long id) {
         log.info("Eliminando rol con ID: {}", id);
 
-        repository.findById(id)
+        findCachedById(id)
                 .orElseThrow(() -> {
-                    log.error("No se puede eliminar: rol con ID: {} no encontrado", id);
+                    log.debug("No se puede eliminar: rol con ID: {} no encontrado", id);
                     return new ResourceNotFoundException("Role", id);
                 });
 
         repository.deleteById(id);
+        afterCommit(current -> current.without(id));
+        userCache.evictAll();
         log.info("Rol con ID: {} eliminado exitosamente", id);
     }
 
@@ -109,30 +228,34 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional
     public void assignRoleToUser(Long userId, Long roleId) {
         log.info("Asignando rol con ID: {} al usuario con ID: {}", roleId, userId);
 
-        Role role = repository.findById(roleId)
+        Role role = findCachedById(roleId)
                 .orElseThrow(() -> {
-                    log.error("No se puede asignar: rol con ID: {} no encontrado", roleId);
+                    log.debug("No se puede asignar: rol con ID: {} no encontrado", roleId);
                     return new ResourceNotFoundException("Role", roleId);
                 });
 
         repository.assignRoleToUser(userId, role.getId());
+        userCache.evict(userId);
         log.info("Rol '{}' (ID: {}) asignado exitosamente al usuario con ID: {}", role.getName(), roleId, userId);
     }
 
     @Override
+    @Transactional
     public void removeRoleFromUser(Long userId, Long roleId) {
         log.info("Removiendo rol con ID: {} del usuario con ID: {}", roleId, userId);
 
-        Role role = repository.findById(roleId)
+        Role role = findCachedById(roleId)
                 .orElseThrow(() -> {
-                    log.error("No se puede remover: rol con ID: {} no encontrado", roleId);
+                    log.debug("No se puede remover: rol con ID: {} no encontrado", roleId);
                     return new ResourceNotFoundException("Role", roleId);
                 });
 
         repository.removeRoleFromUser(userId, role.getId());
+        userCache.evict(userId);
         log.info("Rol '{}' (ID: {}) removido exitosamente del usuario con ID: {}", role.getName(), roleId, userId);
     }
 }
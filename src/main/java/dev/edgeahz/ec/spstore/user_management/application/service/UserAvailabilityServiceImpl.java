@@ -0,0 +1,48 @@
+package dev.edgeahz.ec.spstore.user_management.application.service;
+
+import dev.edgeahz.ec.spstore.user_management.application.port.input.UserAvailabilityService;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.UserAvailabilityIndex;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.UserRepository;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ValidationException;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Availability;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Predicate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UserAvailabilityServiceImpl implements UserAvailabilityService {
+
+    private final UserAvailabilityIndex index;
+    private final UserRepository userRepository;
+
+    @Override
+    public Availability checkAvailability(String username, String email) {
+        boolean hasUsername = username != null && !username.isBlank();
+        boolean hasEmail = email != null && !email.isBlank();
+
+        if (!hasUsername && !hasEmail) {
+            throw ValidationException.of("username", "Debe indicar un nombre de usuario o un correo electrónico");
+        }
+
+        log.debug("Consultando disponibilidad de usuario: {}, correo: {}", username, email);
+        return new Availability(
+                hasUsername ? isAvailable(username, index::mightContainUsername, userRepository::existsByUsername) : null,
+                hasEmail ? isAvailable(email, index::mightContainEmail, userRepository::existsByEmail) : null
+        );
+    }
+
+    // Un "no está" del filtro solo es definitivo si el índice está listo, lo que exige una única
+    // instancia (trust-negatives); en otro caso, y ante un posible acierto, decide la base de datos
+    private boolean isAvailable(String value, Predicate<String> mightContain, Predicate<String> exists) {
+        if (index.isReady() && !mightContain.test(value)) {
+            return true;
+        }
+        return !exists.test(value);
+    }
+}
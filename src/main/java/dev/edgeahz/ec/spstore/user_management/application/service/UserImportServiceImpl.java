@@ -0,0 +1,412 @@
+package dev.edgeahz.ec.spstore.user_management.application.service;
+
+import dev.edgeahz.ec.spstore.user_management.application.port.input.RoleService;
+import dev.edgeahz.ec.spstore.user_management.application.port.input.UserImportService;
+import dev.edgeahz.ec.spstore.user_management.application.port.input.UserImportSource;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.AddressRepository;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.BulkPasswordHasher;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.PhoneRepository;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.RoleRepository;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.UserAvailabilityIndex;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.UserRepository;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ResourceNotFoundException;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ServiceBusyException;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Phone;
+import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserImportJob;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserImportRow;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Importación masiva de usuarios en segundo plano. Las filas se procesan en bloques: se validan,
+ * se calculan los hashes en paralelo y cada bloque se escribe en una transacción con una sentencia
+ * INSERT de varias filas por tabla. Si un bloque falla se reintenta fila por fila para aislar las
+ * filas con error sin perder el resto.
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final String DEFAULT_ROLE = "USER";
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private final UserRepository userRepository;
+    private final AddressRepository addressRepository;
+    private final PhoneRepository phoneRepository;
+    private final RoleRepository roleRepository;
+    private final RoleService roleService;
+    private final UserAvailabilityIndex availabilityIndex;
+    private final BulkPasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<String> assignableRoles;
+    private final int chunkSize;
+    private final int errorLimit;
+    private final Duration jobRetention;
+    private final Duration busyRetryAfter;
+    private final ExecutorService executor;
+    private final Map<String, UserImportJob> jobs = new ConcurrentHashMap<>();
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 AddressRepository addressRepository,
+                                 PhoneRepository phoneRepository,
+                                 RoleRepository roleRepository,
+                                 RoleService roleService,
+                                 UserAvailabilityIndex availabilityIndex,
+                                 BulkPasswordHasher passwordHasher,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${user-management.import.assignable-roles:USER}") Set<String> assignableRoles,
+                                 @Value("${user-management.import.chunk-size:1000}") int chunkSize,
+                                 @Value("${user-management.import.max-concurrent-jobs:1}") int maxConcurrentJobs,
+                                 @Value("${user-management.import.max-queued-jobs:2}") int maxQueuedJobs,
+                                 @Value("${user-management.import.busy-retry-after:PT1M}") Duration busyRetryAfter,
+                                 @Value("${user-management.import.error-limit:1000}") int errorLimit,
+                                 @Value("${user-management.import.job-retention:PT24H}") Duration jobRetention,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.userRepository = userRepository;
+        this.addressRepository = addressRepository;
+        this.phoneRepository = phoneRepository;
+        this.roleRepository = roleRepository;
+        this.roleService = roleService;
+        this.availabilityIndex = availabilityIndex;
+        this.passwordHasher = passwordHasher;
+        this.transactionTemplate = transactionTemplate;
+        this.assignableRoles = Set.copyOf(assignableRoles);
+        this.chunkSize = chunkSize;
+        this.errorLimit = errorLimit;
+        this.jobRetention = jobRetention;
+        this.busyRetryAfter = busyRetryAfter;
+        // El trabajo espera sobre todo a MySQL; el hash de contraseñas corre en su propio pool de plataforma
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("user-import-", 0).factory()
+                : Thread.ofPlatform().name("user-import-", 0).factory();
+        // Cada trabajo en espera retiene su archivo en disco (hasta max-size): la cola es acotada y,
+        // llena, la importación se rechaza con 503 en lugar de acumular archivos sin límite
+        this.executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedJobs), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public UserImportJob startImport(UserImportSource source) {
+        purgeFinishedJobs();
+
+        UserImportJob job = new UserImportJob(UUID.randomUUID().toString(), errorLimit);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, source));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            log.warn("Importación de usuarios rechazada: la cola de importaciones está llena");
+            throw ServiceBusyException.importQueue(busyRetryAfter);
+        }
+
+        log.info("Importación de usuarios encolada con ID: {}", job.getId());
+        return job;
+    }
+
+    @Override
+    public UserImportJob getImportJob(String jobId) {
+        UserImportJob job = jobs.get(jobId);
+        if (job == null) {
+            log.debug("No se encontró la importación con ID: {}", jobId);
+            throw new ResourceNotFoundException("UserImportJob", "id", jobId);
+        }
+        return job;
+    }
+
+    private void run(UserImportJob job, UserImportSource source) {
+        job.start();
+        log.info("Iniciando importación de usuarios con ID: {}", job.getId());
+
+        Map<String, Optional<Long>> roleIdsByName = new HashMap<>();
+        List<UserImportRow> chunk = new ArrayList<>(chunkSize);
+
+        try (source) {
+            source.forEach(row -> {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(job, chunk, roleIdsByName);
+                    chunk.clear();
+                }
+            });
+            importChunk(job, chunk, roleIdsByName);
+
+            job.complete();
+            log.info("Importación con ID: {} completada: {} importados, {} con error",
+                    job.getId(), job.getImportedRows(), job.getFailedRows());
+        } catch (Exception e) {
+            log.error("La importación con ID: {} falló después de {} filas", job.getId(), job.getProcessedRows(), e);
+            job.fail(ImportError.of(e).describe());
+        }
+    }
+
+    private void importChunk(UserImportJob job, List<UserImportRow> rows, Map<String, Optional<Long>> roleIdsByName) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<PreparedUser> prepared = prepare(job, rows, roleIdsByName);
+        if (!prepared.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(prepared));
+                job.recordImported(prepared.size());
+            } catch (DataAccessException e) {
+                log.warn("Falló el bloque de {} usuarios en la importación con ID: {}, reintentando fila por fila",
+                        prepared.size(), job.getId());
+                for (PreparedUser user : prepared) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> insert(List.of(user)));
+                        job.recordImported(1);
+                    } catch (DataAccessException rowException) {
+                        log.debug("Falló la fila {} de la importación con ID: {}", user.line(), job.getId(), rowException);
+                        job.recordFailure(user.line(), ImportError.of(rowException).describe());
+                    }
+                }
+            }
+        }
+
+        job.recordProcessed(rows.size());
+    }
+
+    private List<PreparedUser> prepare(UserImportJob job, List<UserImportRow> rows, Map<String, Optional<Long>> roleIdsByName) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<UserImportRow> valid = new ArrayList<>(rows.size());
+
+        for (UserImportRow row : rows) {
+            String error = validate(row);
+            if (error == null && !usernames.add(normalize(row.user().getUsername()))) {
+                error = "Nombre de usuario repetido en el archivo: " + row.user().getUsername();
+            }
+            if (error == null && !emails.add(normalize(row.user().getEmail()))) {
+                error = "Correo electrónico repetido en el archivo: " + row.user().getEmail();
+            }
+
+            if (error == null) {
+                valid.add(row);
+            } else {
+                job.recordFailure(row.line(), error);
+            }
+        }
+
+        // Una consulta por bloque para los duplicados contra usuarios existentes
+        Set<String> existingUsernames = normalizeAll(userRepository.findExistingUsernames(
+                valid.stream().map(row -> row.user().getUsername()).toList()));
+        Set<String> existingEmails = normalizeAll(userRepository.findExistingEmails(
+                valid.stream().map(row -> row.user().getEmail()).toList()));
+
+        List<UserImportRow> accepted = new ArrayList<>(valid.size());
+        List<Set<Long>> roleIds = new ArrayList<>(valid.size());
+        for (UserImportRow row : valid) {
+            String error = null;
+            Set<Long> rowRoleIds = new LinkedHashSet<>();
+
+            if (existingUsernames.contains(normalize(row.user().getUsername()))) {
+                error = "El nombre de usuario ya existe: " + row.user().getUsername();
+            } else if (existingEmails.contains(normalize(row.user().getEmail()))) {
+                error = "El correo electrónico ya está en uso: " + row.user().getEmail();
+            } else {
+                resolveRole(DEFAULT_ROLE, roleIdsByName).ifPresent(rowRoleIds::add);
+                for (String roleName : row.roleNames()) {
+                    // Solo los roles de la lista blanca: un archivo no puede crear administradores
+                    if (!assignableRoles.contains(roleName)) {
+                        error = "El rol no se puede asignar en una importación: " + roleName;
+                        break;
+                    }
+                    Optional<Long> roleId = resolveRole(roleName, roleIdsByName);
+                    if (roleId.isEmpty()) {
+                        error = "No existe el rol: " + roleName;
+                        break;
+                    }
+                    rowRoleIds.add(roleId.get());
+                }
+            }
+
+            if (error == null) {
+                accepted.add(row);
+                roleIds.add(rowRoleIds);
+            } else {
+                job.recordFailure(row.line(), error);
+            }
+        }
+
+        return hashPasswords(accepted, roleIds);
+    }
+
+    private String validate(UserImportRow row) {
+        if (row.error() != null) {
+            return row.error();
+        }
+
+        User user = row.user();
+        if (isBlank(user.getUsername()) || isBlank(user.getEmail()) || isBlank(user.getFirstName())
+                || isBlank(user.getLastName()) || user.getBirthDate() == null) {
+            return "Faltan campos obligatorios: username, email, firstName, lastName y birthDate";
+        }
+        if (user.getPhones() != null && user.getPhones().stream().anyMatch(phone -> phone.getType() == null)) {
+            return "Cada teléfono debe indicar type";
+        }
+        if (isBlank(user.getPassword()) == (row.passwordHash() == null)) {
+            return "Debe indicar exactamente uno de password o passwordHash";
+        }
+        if (row.passwordHash() != null && !BCRYPT_HASH.matcher(row.passwordHash()).matches()) {
+            return "passwordHash no es un hash BCrypt válido";
+        }
+        if (!UserServiceImpl.isAdult(user.getBirthDate())) {
+            return "El usuario debe ser mayor de " + UserServiceImpl.MINIMUM_AGE + " años";
+        }
+        return null;
+    }
+
+    private List<PreparedUser> hashPasswords(List<UserImportRow> rows, List<Set<Long>> roleIds) {
+        List<String> rawPasswords = rows.stream()
+                .filter(row -> row.passwordHash() == null)
+                .map(row -> row.user().getPassword())
+                .toList();
+        List<String> hashes = passwordHasher.encodeAll(rawPasswords);
+
+        List<PreparedUser> prepared = new ArrayList<>(rows.size());
+        int next = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            UserImportRow row = rows.get(i);
+            User user = row.user();
+            // Los hashes heredados se guardan tal cual; changePassword los actualiza al costo vigente
+            user.setPassword(row.passwordHash() != null ? row.passwordHash() : hashes.get(next++));
+            user.setEnabled(true);
+            prepared.add(new PreparedUser(row.line(), user, roleIds.get(i)));
+        }
+        return prepared;
+    }
+
+    private void insert(List<PreparedUser> prepared) {
+        prepared.forEach(user -> availabilityIndex.register(user.user().getUsername(), user.user().getEmail()));
+
+        Map<String, Long> ids = userRepository.insertAll(prepared.stream().map(PreparedUser::user).toList());
+
+        List<Address> addresses = new ArrayList<>();
+        List<Phone> phones = new ArrayList<>();
+        Map<Long, Set<Long>> roleIdsByUserId = new HashMap<>();
+        for (PreparedUser user : prepared) {
+            Long userId = ids.get(user.user().getUsername());
+            user.user().setId(userId);
+
+            if (user.user().getAddresses() != null) {
+                user.user().getAddresses().forEach(address -> address.setUserId(userId));
+                addresses.addAll(user.user().getAddresses());
+            }
+            if (user.user().getPhones() != null) {
+                user.user().getPhones().forEach(phone -> phone.setUserId(userId));
+                phones.addAll(user.user().getPhones());
+            }
+            roleIdsByUserId.put(userId, user.roleIds());
+        }
+
+        addressRepository.insertAll(addresses);
+        phoneRepository.insertAll(phones);
+        roleRepository.assignRolesToUsers(roleIdsByUserId);
+    }
+
+    private Optional<Long> resolveRole(String name, Map<String, Optional<Long>> roleIdsByName) {
+        return roleIdsByName.computeIfAbsent(name, key -> {
+            try {
+                return Optional.of(roleService.getRoleByName(key).getId());
+            } catch (ResourceNotFoundException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    private void purgeFinishedJobs() {
+        Instant threshold = Instant.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(threshold));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> normalizeAll(Set<String> values) {
+        Set<String> normalized = new HashSet<>(values.size());
+        values.forEach(value -> normalized.add(normalize(value)));
+        return normalized;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record PreparedUser(long line, User user, Set<Long> roleIds) {
+    }
+
+    // El estado del trabajo se devuelve por la API: el texto del driver (tablas, restricciones,
+    // valores) solo va al log y el cliente recibe un código y un mensaje estables
+    private enum ImportError {
+        DUPLICATE_KEY("Un dato único de la fila ya existe (nombre de usuario, correo o predeterminado)"),
+        DATA_INTEGRITY("La fila viola una restricción de datos (campo obligatorio, longitud o referencia)"),
+        DATABASE_ERROR("Error de base de datos"),
+        READ_ERROR("No se pudo leer el archivo de importación"),
+        INTERNAL_ERROR("Error interno durante la importación");
+
+        private final String message;
+
+        ImportError(String message) {
+            this.message = message;
+        }
+
+        static ImportError of(Exception e) {
+            if (e instanceof DuplicateKeyException) {
+                return DUPLICATE_KEY;
+            }
+            if (e instanceof DataIntegrityViolationException) {
+                return DATA_INTEGRITY;
+            }
+            if (e instanceof DataAccessException) {
+                return DATABASE_ERROR;
+            }
+            if (e instanceof IOException || e instanceof UncheckedIOException) {
+                return READ_ERROR;
+            }
+            return INTERNAL_ERROR;
+        }
+
+        String describe() {
+            return name() + ": " + message;
+        }
+    }
+}
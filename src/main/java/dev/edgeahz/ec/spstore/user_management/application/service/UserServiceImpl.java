@@ -1,57 +1,136 @@
 package dev.edgeahz.ec.spstore.user_management.application.service;
 
-import dev.edgeahz.ec.spstore.user_management.domain.exception.ResourceNotFoundException;
 import dev.edgeahz.ec.spstore.user_management.application.port.input.AddressService;
 import dev.edgeahz.ec.spstore.user_management.application.port.input.PhoneService;
 import dev.edgeahz.ec.spstore.user_management.application.port.input.RoleService;
 import dev.edgeahz.ec.spstore.user_management.application.port.input.UserService;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.AddressRepository;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.PhoneRepository;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.RoleRepository;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.UserAvailabilityIndex;
 import dev.edgeahz.ec.spstore.user_management.application.port.output.UserRepository;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.BusinessException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.DuplicateResourceException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.ResourceNotFoundException;
 import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
+import dev.edgeahz.ec.spstore.user_management.domain.model.CursorPage;
 import dev.edgeahz.ec.spstore.user_management.domain.model.Phone;
 import dev.edgeahz.ec.spstore.user_management.domain.model.Role;
 import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserCursor;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserFetchPlan;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserSort;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserVersion;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Versioned;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
+// Cada caso de uso es una transacción: de solo lectura salvo que el método declare lo contrario
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
 
-    private static final int MINIMUM_AGE = 18;
+    static final int MINIMUM_AGE = 18;
+    private static final String DEFAULT_ROLE = "USER";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
 
     private final UserRepository userRepository;
+    private final AddressRepository addressRepository;
+    private final PhoneRepository phoneRepository;
+    private final RoleRepository roleRepository;
     private final RoleService roleService;
     private final AddressService addressService;
     private final PhoneService phoneService;
     private final PasswordEncoder passwordEncoder;
+    private final UserAvailabilityIndex availabilityIndex;
+    private final UserVersionGuard versionGuard;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public CursorPage<User> getAllUsers(String after, Integer limit, UserSort sort, UserFetchPlan plan) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        log.info("Obteniendo página de usuarios después de: {} (tamaño: {}, orden: {})", after, pageSize, sort);
+
+        UserCursor cursor = after == null || after.isBlank() ? null : UserCursor.decode(after, sort);
+
+        // Se pide una fila extra para saber si existe una página siguiente
+        List<User> users = userRepository.findPage(cursor, pageSize + 1, sort, plan);
+        if (users.size() <= pageSize) {
+            return new CursorPage<>(users, null);
+        }
+
+        List<User> items = users.subList(0, pageSize);
+        String nextCursor = UserCursor.of(sort, items.getLast()).encode();
+
+        log.info("Se devolvieron {} usuarios, siguiente cursor: {}", items.size(), nextCursor);
+        return new CursorPage<>(items, nextCursor);
+    }
 
     @Override
-    public List<User> getAllUsers() {
-        log.info("Obteniendo todos los usuarios del sistema");
-        List<User> users = userRepository.findAll();
+    public void exportUsers(Consumer<User> consumer) {
+        log.info("Iniciando exportación de usuarios");
+        long[] exported = {0};
+
+        userRepository.streamAll(user -> {
+            consumer.accept(user);
+            exported[0]++;
+        });
 
-        log.info("Se encontraron {} usuarios en el sistema", users.size());
-        return users;
+        log.info("Exportación finalizada: {} usuarios", exported[0]);
     }
 
     @Override
     public User getUserById(Long id) {
-        log.info("Buscando usuario con ID: {}", id);
-        return userRepository.findById(id)
+        return getUserById(id, UserFetchPlan.FULL);
+    }
+
+    @Override
+    public User getUserById(Long id, UserFetchPlan plan) {
+        log.info("Buscando usuario con ID: {} (relaciones: {})", id, plan.relations());
+        return userRepository.findById(id, plan)
+                .orElseThrow(() -> {
+                    log.debug("No se encontró el usuario con ID: {}", id);
+                    return new ResourceNotFoundException("User", id);
+                });
+    }
+
+    // Versión y agregado en la misma transacción de solo lectura: una conexión, una instantánea
+    @Override
+    public Versioned<User> getVersionedUserById(Long id, UserFetchPlan plan) {
+        log.info("Buscando usuario con ID: {} (relaciones: {})", id, plan.relations());
+        return userRepository.findVersionedById(id, plan)
+                .orElseThrow(() -> {
+                    log.debug("No se encontró el usuario con ID: {}", id);
+                    return new ResourceNotFoundException("User", id);
+                });
+    }
+
+    @Override
+    public UserVersion getUserVersion(Long id) {
+        return userRepository.findVersion(id)
                 .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", id);
+                    log.debug("No se encontró el usuario con ID: {}", id);
                     return new ResourceNotFoundException("User", id);
                 });
     }
@@ -61,7 +140,7 @@ public class UserServiceImpl implements UserService {
         log.info("Buscando usuario con nombre de usuario: {}", username);
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con nombre de usuario: {}", username);
+                    log.debug("No se encontró el usuario con nombre de usuario: {}", username);
                     return new ResourceNotFoundException("User", "username", username);
                 });
     }
@@ -71,115 +150,117 @@ public class UserServiceImpl implements UserService {
         log.info("Buscando usuario con correo electrónico: {}", email);
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con correo electrónico: {}", email);
+                    log.debug("No se encontró el usuario con correo electrónico: {}", email);
                     return new ResourceNotFoundException("User", "email", email);
                 });
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User createUser(User user) {
-        log.info("Creando nuevo usuario: {}", user.getUsername());
-
-        if (userRepository.existsByUsername(user.getUsername())) {
-            log.error("El usuario ya existe");
-            throw new DuplicateResourceException("User", "username", user.getUsername());
-        }
-
-        if (userRepository.existsByEmail(user.getEmail())) {
-            log.error("El correo electrónico ya está en uso");
-            throw new DuplicateResourceException("User", "email", user.getEmail());
-        }
-
-        // Verificar si el usuario es mayor de edad
-        if (!isAdult(user.getBirthDate())) {
-            log.error("El usuario debe ser mayor de {} años", MINIMUM_AGE);
-            throw new BusinessException("El usuario debe ser mayor de " + MINIMUM_AGE + " años", "AGE_RESTRICTION", "user");
-        }
-
-        User userToSave = User.builder()
-                .username(user.getUsername())
-                .password(passwordEncoder.encode(user.getPassword()))
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .birthDate(user.getBirthDate())
-                .enabled(true)
-                .roles(Collections.emptyList())
-                .addresses(Collections.emptyList())
-                .phones(Collections.emptyList())
-                .createdAt(Instant.now())
-                .updatedAt(Instant.now())
-                .build();
-
-        User savedUser = userRepository.save(userToSave);
-
-        // Asignar rol USER por defecto
-        try {
-            Role userRole = roleService.getRoleByName("USER");
-            roleService.assignRoleToUser(savedUser.getId(), userRole.getId());
-        } catch (ResourceNotFoundException e) {
-            log.error("No se encontró el usuario con ID: {}", userToSave.getId());
-        }
-
-        // Cargar usuario completo con relaciones
-        return getUserById(savedUser.getId());
+        return createCompleteUser(user, List.of(), List.of(), List.of());
     }
 
+    // BCrypt tarda decenas de milisegundos: el hash se calcula antes de abrir la transacción para no
+    // retener una conexión, ni el bloqueo de la fila con If-Match, mientras tanto
     @Override
-    public User updateUser(Long id, User userDetails) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public User updateUser(Long id, User userDetails, Boolean enabled, Collection<String> expectedVersions) {
         log.info("Actualizando usuario con ID: {}", id);
 
-        User user = userRepository.findById(id)
+        String passwordHash = userDetails.getPassword() == null ? null : passwordEncoder.encode(userDetails.getPassword());
+        return transactionTemplate.execute(status -> applyUpdate(id, userDetails, enabled, passwordHash, expectedVersions));
+    }
+
+    private User applyUpdate(Long id, User userDetails, Boolean enabled, String passwordHash,
+                             Collection<String> expectedVersions) {
+        // Con If-Match la fila queda bloqueada hasta el commit: la versión comprobada es la que se modifica
+        if (expectedVersions != null) {
+            if (!userRepository.lockById(id)) {
+                log.debug("No se encontró el usuario con ID: {}", id);
+                throw new ResourceNotFoundException("User", id);
+            }
+            versionGuard.check(id, expectedVersions);
+        }
+
+        // El agregado completo: la respuesta del PUT es la misma representación que la del GET
+        User user = userRepository.findById(id, UserFetchPlan.FULL)
                 .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", id);
+                    log.debug("No se encontró el usuario con ID: {}", id);
                     return new ResourceNotFoundException("User", id);
                 });
 
-        if (!user.getUsername().equals(userDetails.getUsername()) && userRepository.existsByUsername(userDetails.getUsername())) {
-            log.error("El nombre de usuario ya está en uso");
-            throw new DuplicateResourceException("User", "username", userDetails.getUsername());
+        // Los campos ausentes en la petición conservan su valor actual
+        String username = valueOr(userDetails.getUsername(), user.getUsername());
+        String email = valueOr(userDetails.getEmail(), user.getEmail());
+
+        if (!user.getUsername().equals(username) && userRepository.existsByUsername(username)) {
+            log.debug("El nombre de usuario ya está en uso");
+            throw new DuplicateResourceException("User", "username", username);
         }
 
-        if (!user.getEmail().equals(userDetails.getEmail()) && userRepository.existsByEmail(userDetails.getEmail())) {
-            log.error("El correo electrónico ya está en uso");
-            throw new DuplicateResourceException("User", "email", userDetails.getEmail());
+        if (!user.getEmail().equals(email) && userRepository.existsByEmail(email)) {
+            log.debug("El correo electrónico ya está en uso");
+            throw new DuplicateResourceException("User", "email", email);
         }
 
         // Verificar si el usuario es mayor de edad
-        if (!isAdult(userDetails.getBirthDate())) {
+        if (userDetails.getBirthDate() != null && !isAdult(userDetails.getBirthDate())) {
             log.error("El usuario debe ser mayor de {} años", MINIMUM_AGE);
             throw new BusinessException("El usuario debe ser mayor de " + MINIMUM_AGE + " años", "AGE_RESTRICTION", "user");
         }
 
         user.setId(id);
-        user.setUsername(userDetails.getUsername());
-        user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
-        user.setEmail(userDetails.getEmail());
-        user.setFirstName(userDetails.getFirstName());
-        user.setLastName(userDetails.getLastName());
-        user.setBirthDate(userDetails.getBirthDate());
-        user.setEnabled(true);
-        user.setUpdatedAt(Instant.now());
-
+        user.setUsername(username);
+        if (passwordHash != null) {
+            user.setPassword(passwordHash);
+        }
+        user.setEmail(email);
+        user.setFirstName(valueOr(userDetails.getFirstName(), user.getFirstName()));
+        user.setLastName(valueOr(userDetails.getLastName(), user.getLastName()));
+        user.setBirthDate(valueOr(userDetails.getBirthDate(), user.getBirthDate()));
+        user.setEnabled(valueOr(enabled, user.isEnabled()));
+        // Con la versión que envió el cliente, una edición hecha después de su lectura da 409
+        // en lugar de perderse; sin ella vale la versión recién leída
+        user.setVersion(valueOr(userDetails.getVersion(), user.getVersion()));
+
+        availabilityIndex.register(user.getUsername(), user.getEmail());
         return userRepository.save(user);
     }
 
+    // Los roles del agregado y los del catálogo son instancias distintas: se comparan por ID
+    private static boolean hasRole(User user, Long roleId) {
+        return user.getRoles().stream().anyMatch(role -> role.getId().equals(roleId));
+    }
+
+    private static <T> T valueOr(T value, T current) {
+        return value == null ? current : value;
+    }
+
     @Override
+    @Transactional
     public void deleteUser(Long id) {
         log.info("Eliminando usuario con ID: {}", id);
-        getUserById(id);
+        if (!userRepository.existsById(id)) {
+            log.debug("No se encontró el usuario con ID: {}", id);
+            throw new ResourceNotFoundException("User", id);
+        }
 
         userRepository.deleteById(id);
         log.info("Usuario con ID: {} eliminado", id);
     }
 
+    // Sin transacción envolvente: la lectura va al primario y los dos BCrypt corren sin una conexión
+    // retenida. La escritura queda condicionada a la versión leída, así que un cambio concurrente
+    // da 409 en lugar de perderse
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void changePassword(Long id, String currentPassword, String newPassword) {
         log.info("Cambiando contraseña para el usuario con ID: {}", id);
 
-        User user = userRepository.findById(id)
+        User user = userRepository.findById(id, UserFetchPlan.BASIC)
                 .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", id);
+                    log.debug("No se encontró el usuario con ID: {}", id);
                     return new ResourceNotFoundException("User", id);
                 });
 
@@ -188,21 +269,19 @@ public class UserServiceImpl implements UserService {
             throw new BusinessException("La contraseña actual es incorrecta", "INVALID_PASSWORD", "user");
         }
 
+        // El nuevo hash siempre usa el costo calibrado. El inicio de sesión lo resuelve el emisor de
+        // JWT, así que este es el único punto con la contraseña en claro: un hash con costo anterior
+        // solo se renueva cuando su dueño cambia la contraseña
         user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        transactionTemplate.executeWithoutResult(status -> userRepository.save(user));
         log.info("Contraseña cambiada exitosamente para el usuario con ID: {}", id);
     }
 
     @Override
+    @Transactional
     public Address addAddress(Long userId, Address address) {
         log.info("Agregando dirección para el usuario con ID: {}", userId);
 
-        userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", userId);
-                    return new ResourceNotFoundException("User", userId);
-                });
-
         Address addressSaved = addressService.createAddress(address, userId);
 
         log.info("Dirección guardada con ID: {}", addressSaved.getId());
@@ -210,15 +289,10 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public Phone addPhone(Long userId, Phone phone) {
         log.info("Agregando teléfono para el usuario con ID: {}", userId);
 
-        userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", userId);
-                    return new ResourceNotFoundException("User", userId);
-                });
-
         Phone phoneSaved = phoneService.createPhone(phone, userId);
 
         log.info("Teléfono guardado con ID: {}", phoneSaved.getId());
@@ -226,77 +300,172 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void assignRole(Long userId, Long roleId) {
         log.info("Asignando rol con ID: {} al usuario con ID: {}", roleId, userId);
 
-        User user = userRepository.findById(userId)
+        User user = userRepository.findById(userId, UserFetchPlan.WITH_ROLES)
                 .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", userId);
+                    log.debug("No se encontró el usuario con ID: {}", userId);
                     return new ResourceNotFoundException("User", userId);
                 });
 
         Role role = roleService.getRoleById(roleId);
 
-        if (user.getRoles().contains(role)) {
-            log.error("El rol ya está asignado al usuario");
+        if (hasRole(user, roleId)) {
+            log.debug("El rol ya está asignado al usuario");
             throw new DuplicateResourceException("User", "role", role.getName());
         }
 
-        user.getRoles().add(role);
-        userRepository.save(user);
+        // La asignación vive en user_roles: la fila de users no cambia
+        roleService.assignRoleToUser(userId, roleId);
         log.info("Rol con ID: {} asignado al usuario con ID: {}", roleId, userId);
     }
 
     @Override
+    @Transactional
     public void removeRole(Long userId, Long roleId) {
         log.info("Removiendo rol con ID: {} del usuario con ID: {}", roleId, userId);
 
-        User user = userRepository.findById(userId)
+        User user = userRepository.findById(userId, UserFetchPlan.WITH_ROLES)
                 .orElseThrow(() -> {
-                    log.error("No se encontró el usuario con ID: {}", userId);
+                    log.debug("No se encontró el usuario con ID: {}", userId);
                     return new ResourceNotFoundException("User", userId);
                 });
 
         Role role = roleService.getRoleById(roleId);
 
-        if (!user.getRoles().contains(role)) {
-            log.error("El rol no está asignado al usuario");
+        if (!hasRole(user, roleId)) {
+            log.debug("El rol no está asignado al usuario");
             throw new ResourceNotFoundException("User", "role", role.getName());
         }
 
-        user.getRoles().remove(role);
-        userRepository.save(user);
+        roleService.removeRoleFromUser(userId, roleId);
         log.info("Rol con ID: {} removido del usuario con ID: {}", roleId, userId);
     }
 
+    // Como en updateUser, el hash se calcula antes de abrir la transacción
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User createCompleteUser(User user, List<Address> addresses, List<Phone> phones, List<Long> roleIds) {
-        // Crear usuario
-        User createdUser = createUser(user);
+        log.info("Creando nuevo usuario: {}", user.getUsername());
 
-        // Agregar direcciones
-        if (addresses != null && !addresses.isEmpty()) {
-            for (Address address : addresses) {
-                addressService.createAddress(address, createdUser.getId());
-            }
+        if (phones != null) {
+            phones.forEach(PhoneServiceImpl::requireType);
         }
+        String passwordHash = passwordEncoder.encode(user.getPassword());
+        return transactionTemplate.execute(status -> insertCompleteUser(user, passwordHash, addresses, phones, roleIds));
+    }
 
-        // Agregar teléfonos
-        if (phones != null && !phones.isEmpty()) {
-            for (Phone phone : phones) {
-                phoneService.createPhone(phone, createdUser.getId());
-            }
+    private User insertCompleteUser(User user, String passwordHash, List<Address> addresses, List<Phone> phones,
+                                    List<Long> roleIds) {
+        // Los roles se resuelven antes de escribir nada: un ID inexistente no deja filas a medias
+        List<Role> roles = resolveRoles(roleIds);
+
+        // TIMESTAMP(6) guarda microsegundos: se trunca para que la respuesta coincida con lo escrito
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        User savedUser = insertNewUser(user, passwordHash, now);
+        Long userId = savedUser.getId();
+
+        List<Address> newAddresses = new ArrayList<>(addresses == null ? List.of() : addresses);
+        int defaultAddress = lastDefaultIndex(newAddresses, Address::isDefault);
+        for (int i = 0; i < newAddresses.size(); i++) {
+            Address address = newAddresses.get(i);
+            address.setUserId(userId);
+            address.setDefault(i == defaultAddress);
+            address.setCreatedAt(now);
+            address.setUpdatedAt(now);
+        }
+
+        List<Phone> newPhones = new ArrayList<>(phones == null ? List.of() : phones);
+        int defaultPhone = lastDefaultIndex(newPhones, Phone::isDefault);
+        for (int i = 0; i < newPhones.size(); i++) {
+            Phone phone = newPhones.get(i);
+            phone.setUserId(userId);
+            phone.setDefault(i == defaultPhone);
+            phone.setCreatedAt(now);
+            phone.setUpdatedAt(now);
+        }
+
+        // Una sentencia por tabla hija, sin importar cuántas filas se envíen
+        savedUser.setAddresses(addressRepository.insertAllForNewUser(userId, newAddresses));
+        savedUser.setPhones(phoneRepository.insertAllForNewUser(userId, newPhones));
+        if (!roles.isEmpty()) {
+            roleRepository.assignRolesToUsers(Map.of(userId, roles.stream().map(Role::getId).toList()));
         }
+        savedUser.setRoles(new ArrayList<>(roles));
 
-        // Asignar roles adicionales
-        if (roleIds != null && !roleIds.isEmpty()) {
+        log.info("Usuario creado con ID: {} ({} direcciones, {} teléfonos, {} roles)",
+                userId, newAddresses.size(), newPhones.size(), roles.size());
+        return savedUser;
+    }
+
+    private User insertNewUser(User user, String passwordHash, Instant now) {
+        if (userRepository.existsByUsername(user.getUsername())) {
+            log.debug("El usuario ya existe");
+            throw new DuplicateResourceException("User", "username", user.getUsername());
+        }
+
+        if (userRepository.existsByEmail(user.getEmail())) {
+            log.debug("El correo electrónico ya está en uso");
+            throw new DuplicateResourceException("User", "email", user.getEmail());
+        }
+
+        // Verificar si el usuario es mayor de edad
+        if (!isAdult(user.getBirthDate())) {
+            log.error("El usuario debe ser mayor de {} años", MINIMUM_AGE);
+            throw new BusinessException("El usuario debe ser mayor de " + MINIMUM_AGE + " años", "AGE_RESTRICTION", "user");
+        }
+
+        User userToSave = User.builder()
+                .username(user.getUsername())
+                .password(passwordHash)
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .birthDate(user.getBirthDate())
+                .enabled(true)
+                .roles(Collections.emptyList())
+                .addresses(Collections.emptyList())
+                .phones(Collections.emptyList())
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        // Se registra antes de insertar: si la inserción falla solo queda un falso positivo
+        availabilityIndex.register(userToSave.getUsername(), userToSave.getEmail());
+        return userRepository.save(userToSave);
+    }
+
+    /**
+     * Resuelve el rol USER por defecto más los roles solicitados desde el catálogo en memoria,
+     * sin duplicados y conservando el orden.
+     */
+    private List<Role> resolveRoles(List<Long> roleIds) {
+        Map<Long, Role> roles = new LinkedHashMap<>();
+        try {
+            Role userRole = roleService.getRoleByName(DEFAULT_ROLE);
+            roles.put(userRole.getId(), userRole);
+        } catch (ResourceNotFoundException e) {
+            log.error("No se encontró el rol por defecto: {}", DEFAULT_ROLE);
+        }
+
+        if (roleIds != null) {
             for (Long roleId : roleIds) {
-                roleService.assignRoleToUser(createdUser.getId(), roleId);
+                roles.computeIfAbsent(roleId, roleService::getRoleById);
             }
         }
+        return List.copyOf(roles.values());
+    }
 
-        // Cargar usuario completo con relaciones
-        return getUserById(createdUser.getId());
+    // Si se marcan varios como predeterminados gana el último, igual que al crearlos uno a uno
+    private static <T> int lastDefaultIndex(List<T> items, Predicate<T> isDefault) {
+        for (int i = items.size() - 1; i >= 0; i--) {
+            if (isDefault.test(items.get(i))) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -305,7 +474,7 @@ public class UserServiceImpl implements UserService {
      * @param birthDate Fecha de nacimiento
      * @return true si es mayor de edad, false en caso contrario
      */
-    private boolean isAdult(LocalDate birthDate) {
+    static boolean isAdult(LocalDate birthDate) {
         return Period.between(birthDate, LocalDate.now()).getYears() >= MINIMUM_AGE;
     }
 }
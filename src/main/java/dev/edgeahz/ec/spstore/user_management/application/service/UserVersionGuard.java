@@ -0,0 +1,38 @@
+package dev.edgeahz.ec.spstore.user_management.application.service;
+
+import dev.edgeahz.ec.spstore.user_management.application.port.output.UserRepository;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.PreconditionFailedException;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ResourceNotFoundException;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserVersion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Comprueba la precondición {@code If-Match} de las escrituras sobre el agregado de usuario. Se
+ * llama con la fila del usuario ya bloqueada: ninguna otra escritura puede colarse entre la
+ * comprobación y la actualización.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class UserVersionGuard {
+
+    private final UserRepository userRepository;
+
+    // Sin versiones esperadas (no hubo If-Match, o fue "*") no hay nada que comprobar
+    void check(Long userId, Collection<String> expectedVersions) {
+        if (expectedVersions == null) {
+            return;
+        }
+
+        UserVersion current = userRepository.findVersion(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", userId));
+        if (!current.matchesAny(expectedVersions)) {
+            log.debug("La versión del usuario con ID: {} no coincide con If-Match", userId);
+            throw new PreconditionFailedException("User", userId, current.tag());
+        }
+    }
+}
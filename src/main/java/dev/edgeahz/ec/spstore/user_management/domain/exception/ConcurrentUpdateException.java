@@ -0,0 +1,17 @@
+package dev.edgeahz.ec.spstore.user_management.domain.exception;
+
+import dev.edgeahz.ec.spstore.user_management.domain.exception.base.ResourceException;
+
+/**
+ * El UPDATE condicionado a la versión no afectó ninguna fila aunque el registro existe: otra
+ * petición lo modificó después de que el cliente lo leyera. Sin traza de pila: es un 409 que el
+ * cliente resuelve releyendo.
+ */
+public class ConcurrentUpdateException extends ResourceException {
+
+    private static final String ERROR_CODE = "CONCURRENT_UPDATE";
+
+    public ConcurrentUpdateException(String resourceType, Long id) {
+        super(resourceType + " con id: " + id + " fue modificado por otra petición", ERROR_CODE, resourceType, false);
+    }
+}
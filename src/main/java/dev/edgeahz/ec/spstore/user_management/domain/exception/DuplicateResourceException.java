@@ -2,11 +2,15 @@ package dev.edgeahz.ec.spstore.user_management.domain.exception;
 
 import dev.edgeahz.ec.spstore.user_management.domain.exception.base.ResourceException;
 
+/**
+ * Sin traza de pila, como {@link ResourceNotFoundException}: un nombre de usuario ocupado se
+ * responde con 409 y no indica un error del servicio.
+ */
 public class DuplicateResourceException extends ResourceException {
 
     private static final String ERROR_CODE = "DUPLICATE_RESOURCE";
 
     public DuplicateResourceException(String resourceType, String field, String value) {
-        super(String.format("%s ya existe con %s: %s", resourceType, field, value), ERROR_CODE, resourceType);
+        super(resourceType + " ya existe con " + field + ": " + value, ERROR_CODE, resourceType, false);
     }
 }
@@ -0,0 +1,23 @@
+package dev.edgeahz.ec.spstore.user_management.domain.exception;
+
+import dev.edgeahz.ec.spstore.user_management.domain.exception.base.BaseException;
+
+/**
+ * El cuerpo de la petición supera el tamaño o el número de filas admitido (413).
+ */
+public class PayloadTooLargeException extends BaseException {
+
+    private static final String ERROR_CODE = "PAYLOAD_TOO_LARGE";
+
+    public PayloadTooLargeException(String message, String domain) {
+        super(message, ERROR_CODE, domain, false);
+    }
+
+    public static PayloadTooLargeException importBytes(long maxBytes) {
+        return new PayloadTooLargeException("El archivo de importación supera el máximo de " + maxBytes + " bytes", "import");
+    }
+
+    public static PayloadTooLargeException importRows(long maxRows) {
+        return new PayloadTooLargeException("El archivo de importación supera el máximo de " + maxRows + " líneas", "import");
+    }
+}
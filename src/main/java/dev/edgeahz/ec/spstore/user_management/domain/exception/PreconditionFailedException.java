@@ -0,0 +1,21 @@
+package dev.edgeahz.ec.spstore.user_management.domain.exception;
+
+import dev.edgeahz.ec.spstore.user_management.domain.exception.base.BaseException;
+import lombok.Getter;
+
+/**
+ * La versión que el cliente indicó en {@code If-Match} ya no es la actual. Lleva la versión
+ * vigente para devolverla como ETag junto al 412.
+ */
+@Getter
+public class PreconditionFailedException extends BaseException {
+
+    private static final String ERROR_CODE = "PRECONDITION_FAILED";
+
+    private final String currentVersion;
+
+    public PreconditionFailedException(String resourceType, Long id, String currentVersion) {
+        super(resourceType + " con id: " + id + " fue modificado por otra petición", ERROR_CODE, resourceType, false);
+        this.currentVersion = currentVersion;
+    }
+}
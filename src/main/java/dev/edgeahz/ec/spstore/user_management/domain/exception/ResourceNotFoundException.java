@@ -2,17 +2,19 @@ package dev.edgeahz.ec.spstore.user_management.domain.exception;
 
 import dev.edgeahz.ec.spstore.user_management.domain.exception.base.ResourceException;
 
-import java.util.UUID;
-
+/**
+ * Sin traza de pila: un ID inexistente es un resultado normal (incluido el tráfico de bots que
+ * prueban IDs al azar), no un fallo que haya que depurar.
+ */
 public class ResourceNotFoundException extends ResourceException {
 
     private static final String ERROR_CODE = "RESOURCE_NOT_FOUND";
 
     public ResourceNotFoundException(String resourceType, Long id) {
-        super(String.format("%s no fue encontrado con id: %s", resourceType, id), ERROR_CODE, resourceType);
+        super(resourceType + " no fue encontrado con id: " + id, ERROR_CODE, resourceType, false);
     }
 
     public ResourceNotFoundException(String resourceType, String field, String value) {
-        super(String.format("%s no fue encontrado con %s: %s", resourceType, field, value), ERROR_CODE, resourceType);
+        super(resourceType + " no fue encontrado con " + field + ": " + value, ERROR_CODE, resourceType, false);
     }
 }
@@ -0,0 +1,33 @@
+package dev.edgeahz.ec.spstore.user_management.domain.exception;
+
+import dev.edgeahz.ec.spstore.user_management.domain.exception.base.BaseException;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class ServiceBusyException extends BaseException {
+    private static final String ERROR_CODE = "SERVICE_BUSY";
+    private final Duration retryAfter;
+
+    public ServiceBusyException(String message, String domain, Duration retryAfter) {
+        super(message, ERROR_CODE, domain);
+        this.retryAfter = retryAfter;
+    }
+
+    public static ServiceBusyException passwordHashing(Duration retryAfter) {
+        return new ServiceBusyException(
+                "El servicio está procesando demasiadas contraseñas, intente nuevamente más tarde",
+                "security",
+                retryAfter
+        );
+    }
+
+    public static ServiceBusyException importQueue(Duration retryAfter) {
+        return new ServiceBusyException(
+                "Hay demasiadas importaciones en curso o en espera, intente nuevamente más tarde",
+                "import",
+                retryAfter
+        );
+    }
+}
@@ -18,4 +18,14 @@ public abstract class BaseException extends RuntimeException {
         this.errorCode = errorCode;
         this.domain = domain;
     }
+
+    /**
+     * Para resultados esperados (404, 409) que se responden al cliente y no se diagnostican: sin
+     * traza de pila ni excepciones suprimidas, lanzarlas cuesta poco más que crear el objeto.
+     */
+    protected BaseException(String message, String errorCode, String domain, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.errorCode = errorCode;
+        this.domain = domain;
+    }
 }
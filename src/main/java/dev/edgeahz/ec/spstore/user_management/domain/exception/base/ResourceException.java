@@ -5,4 +5,8 @@ public abstract class ResourceException extends BaseException {
     protected ResourceException(String message, String errorCode, String domain) {
         super(message, errorCode, domain);
     }
+
+    protected ResourceException(String message, String errorCode, String domain, boolean writableStackTrace) {
+        super(message, errorCode, domain, writableStackTrace);
+    }
 }
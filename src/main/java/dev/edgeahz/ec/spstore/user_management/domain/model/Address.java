@@ -1,15 +1,20 @@
 package dev.edgeahz.ec.spstore.user_management.domain.model;
 
 import dev.edgeahz.ec.spstore.user_management.domain.model.base.Auditable;
+import dev.edgeahz.ec.spstore.user_management.domain.model.base.ChangeSet;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 import java.time.Instant;
+import java.util.Set;
 
 @Getter
 @Setter
 @SuperBuilder
+@NoArgsConstructor
 public class Address extends Auditable<Instant> {
     Long id;
     Long userId;
@@ -20,4 +25,56 @@ public class Address extends Auditable<Instant> {
     String zipCode;
     boolean isDefault;
     String label;
+    Long version;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final ChangeSet<Attribute> changes = new ChangeSet<>(Attribute.class);
+
+    public enum Attribute {
+        STREET, CITY, STATE, COUNTRY, ZIP_CODE, IS_DEFAULT, LABEL
+    }
+
+    public void setStreet(String street) {
+        changes.record(Attribute.STREET, this.street, street);
+        this.street = street;
+    }
+
+    public void setCity(String city) {
+        changes.record(Attribute.CITY, this.city, city);
+        this.city = city;
+    }
+
+    public void setState(String state) {
+        changes.record(Attribute.STATE, this.state, state);
+        this.state = state;
+    }
+
+    public void setCountry(String country) {
+        changes.record(Attribute.COUNTRY, this.country, country);
+        this.country = country;
+    }
+
+    public void setZipCode(String zipCode) {
+        changes.record(Attribute.ZIP_CODE, this.zipCode, zipCode);
+        this.zipCode = zipCode;
+    }
+
+    public void setDefault(boolean isDefault) {
+        changes.record(Attribute.IS_DEFAULT, this.isDefault, isDefault);
+        this.isDefault = isDefault;
+    }
+
+    public void setLabel(String label) {
+        changes.record(Attribute.LABEL, this.label, label);
+        this.label = label;
+    }
+
+    public Set<Attribute> changedAttributes() {
+        return changes.changed();
+    }
+
+    public void trackChanges() {
+        changes.track();
+    }
 }
@@ -0,0 +1,7 @@
+package dev.edgeahz.ec.spstore.user_management.domain.model;
+
+/**
+ * Resultado de una consulta de disponibilidad; cada campo es {@code null} si no se consultó.
+ */
+public record Availability(Boolean usernameAvailable, Boolean emailAvailable) {
+}
@@ -0,0 +1,9 @@
+package dev.edgeahz.ec.spstore.user_management.domain.model;
+
+import java.util.List;
+
+/**
+ * Página de resultados obtenida por keyset. {@code nextCursor} es nulo en la última página.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
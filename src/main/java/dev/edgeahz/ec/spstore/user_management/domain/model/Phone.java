@@ -1,15 +1,20 @@
 package dev.edgeahz.ec.spstore.user_management.domain.model;
 
 import dev.edgeahz.ec.spstore.user_management.domain.model.base.Auditable;
+import dev.edgeahz.ec.spstore.user_management.domain.model.base.ChangeSet;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 import java.time.Instant;
+import java.util.Set;
 
 @Getter
 @Setter
 @SuperBuilder
+@NoArgsConstructor
 public class Phone extends Auditable<Instant> {
     Long id;
     Long userId;
@@ -17,8 +22,45 @@ public class Phone extends Auditable<Instant> {
     String countryCode;
     PhoneType type;
     boolean isDefault;
+    Long version;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final ChangeSet<Attribute> changes = new ChangeSet<>(Attribute.class);
 
     public enum PhoneType {
         MOBILE, HOME, WORK, OTHER
     }
+
+    public enum Attribute {
+        NUMBER, COUNTRY_CODE, TYPE, IS_DEFAULT
+    }
+
+    public void setNumber(String number) {
+        changes.record(Attribute.NUMBER, this.number, number);
+        this.number = number;
+    }
+
+    public void setCountryCode(String countryCode) {
+        changes.record(Attribute.COUNTRY_CODE, this.countryCode, countryCode);
+        this.countryCode = countryCode;
+    }
+
+    public void setType(PhoneType type) {
+        changes.record(Attribute.TYPE, this.type, type);
+        this.type = type;
+    }
+
+    public void setDefault(boolean isDefault) {
+        changes.record(Attribute.IS_DEFAULT, this.isDefault, isDefault);
+        this.isDefault = isDefault;
+    }
+
+    public Set<Attribute> changedAttributes() {
+        return changes.changed();
+    }
+
+    public void trackChanges() {
+        changes.track();
+    }
 }
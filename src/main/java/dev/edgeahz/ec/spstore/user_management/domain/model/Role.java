@@ -1,17 +1,48 @@
 package dev.edgeahz.ec.spstore.user_management.domain.model;
 
 import dev.edgeahz.ec.spstore.user_management.domain.model.base.Auditable;
+import dev.edgeahz.ec.spstore.user_management.domain.model.base.ChangeSet;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 import java.time.Instant;
+import java.util.Set;
 
 @Getter
 @Setter
 @SuperBuilder
+@NoArgsConstructor
 public class Role extends Auditable<Instant> {
     Long id;
     String name;
     String description;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final ChangeSet<Attribute> changes = new ChangeSet<>(Attribute.class);
+
+    public enum Attribute {
+        NAME, DESCRIPTION
+    }
+
+    public void setName(String name) {
+        changes.record(Attribute.NAME, this.name, name);
+        this.name = name;
+    }
+
+    public void setDescription(String description) {
+        changes.record(Attribute.DESCRIPTION, this.description, description);
+        this.description = description;
+    }
+
+    public Set<Attribute> changedAttributes() {
+        return changes.changed();
+    }
+
+    public void trackChanges() {
+        changes.track();
+    }
 }
@@ -1,17 +1,22 @@
 package dev.edgeahz.ec.spstore.user_management.domain.model;
 
 import dev.edgeahz.ec.spstore.user_management.domain.model.base.Auditable;
+import dev.edgeahz.ec.spstore.user_management.domain.model.base.ChangeSet;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @Getter
 @Setter
 @SuperBuilder
+@NoArgsConstructor
 public class User extends Auditable<Instant> {
     Long id;
     String username;
@@ -24,4 +29,61 @@ public class User extends Auditable<Instant> {
     List<Role> roles;
     List<Address> addresses;
     List<Phone> phones;
+    // Se incrementa con cada UPDATE; null en una escritura significa "sin comprobar la versión"
+    Long version;
+
+    // Final e inicializado: el builder no lo expone y cada constructor crea el suyo
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final ChangeSet<Attribute> changes = new ChangeSet<>(Attribute.class);
+
+    /**
+     * Atributos guardados en columnas de {@code users} que pueden actualizarse por separado.
+     */
+    public enum Attribute {
+        USERNAME, PASSWORD, EMAIL, FIRST_NAME, LAST_NAME, BIRTH_DATE, ENABLED
+    }
+
+    public void setUsername(String username) {
+        changes.record(Attribute.USERNAME, this.username, username);
+        this.username = username;
+    }
+
+    public void setPassword(String password) {
+        changes.record(Attribute.PASSWORD, this.password, password);
+        this.password = password;
+    }
+
+    public void setEmail(String email) {
+        changes.record(Attribute.EMAIL, this.email, email);
+        this.email = email;
+    }
+
+    public void setFirstName(String firstName) {
+        changes.record(Attribute.FIRST_NAME, this.firstName, firstName);
+        this.firstName = firstName;
+    }
+
+    public void setLastName(String lastName) {
+        changes.record(Attribute.LAST_NAME, this.lastName, lastName);
+        this.lastName = lastName;
+    }
+
+    public void setBirthDate(LocalDate birthDate) {
+        changes.record(Attribute.BIRTH_DATE, this.birthDate, birthDate);
+        this.birthDate = birthDate;
+    }
+
+    public void setEnabled(boolean enabled) {
+        changes.record(Attribute.ENABLED, this.enabled, enabled);
+        this.enabled = enabled;
+    }
+
+    public Set<Attribute> changedAttributes() {
+        return changes.changed();
+    }
+
+    public void trackChanges() {
+        changes.track();
+    }
 }
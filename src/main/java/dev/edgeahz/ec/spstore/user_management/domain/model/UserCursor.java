@@ -0,0 +1,47 @@
+package dev.edgeahz.ec.spstore.user_management.domain.model;
+
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Posición de la última fila entregada al cliente. Se serializa como un token opaco que
+ * incluye el orden con el que fue emitido para no mezclar cursores entre ordenamientos.
+ */
+public record UserCursor(UserSort sort, Long id, Instant createdAt) {
+
+    private static final String SEPARATOR = "|";
+
+    public static UserCursor of(UserSort sort, User user) {
+        return new UserCursor(sort, user.getId(), user.getCreatedAt());
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + id + SEPARATOR + (createdAt != null ? createdAt : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String token, UserSort expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw ValidationException.of("after", "Cursor de paginación inválido");
+            }
+            UserSort sort = UserSort.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw ValidationException.of("after", "El cursor no corresponde al orden solicitado");
+            }
+            Instant createdAt = parts[2].isEmpty() ? null : Instant.parse(parts[2]);
+            if (sort == UserSort.CREATED_AT && createdAt == null) {
+                throw ValidationException.of("after", "Cursor de paginación inválido");
+            }
+            return new UserCursor(sort, Long.parseLong(parts[1]), createdAt);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw ValidationException.of("after", "Cursor de paginación inválido");
+        }
+    }
+}
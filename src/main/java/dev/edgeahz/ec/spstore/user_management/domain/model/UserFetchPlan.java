@@ -0,0 +1,40 @@
+package dev.edgeahz.ec.spstore.user_management.domain.model;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Relaciones de {@link User} que deben cargarse junto con la fila del usuario. Las relaciones
+ * que no forman parte del plan quedan en {@code null} para distinguirlas de una lista vacía.
+ */
+public record UserFetchPlan(Set<UserRelation> relations) {
+
+    public static final UserFetchPlan BASIC = new UserFetchPlan(Set.of());
+    public static final UserFetchPlan WITH_ROLES = new UserFetchPlan(Set.of(UserRelation.ROLES));
+    public static final UserFetchPlan FULL = new UserFetchPlan(Set.of(UserRelation.values()));
+
+    public UserFetchPlan {
+        relations = Set.copyOf(relations);
+    }
+
+    public boolean includes(UserRelation relation) {
+        return relations.contains(relation);
+    }
+
+    /**
+     * Construye el plan a partir del parámetro {@code expand}. Sin parámetro se cargan todas las relaciones.
+     */
+    public static UserFetchPlan fromExpand(Collection<String> expand) {
+        if (expand == null) {
+            return FULL;
+        }
+
+        Set<UserRelation> relations = EnumSet.noneOf(UserRelation.class);
+        expand.stream()
+                .filter(value -> !value.isBlank())
+                .map(UserRelation::fromValue)
+                .forEach(relations::add);
+        return new UserFetchPlan(relations);
+    }
+}
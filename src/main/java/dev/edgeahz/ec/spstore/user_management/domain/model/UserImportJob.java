@@ -0,0 +1,97 @@
+package dev.edgeahz.ec.spstore.user_management.domain.model;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado y progreso de una importación masiva. Lo actualiza el hilo de la importación y lo leen
+ * las consultas de estado, por eso los contadores son atómicos. Solo se conservan los primeros
+ * {@code errorLimit} errores por fila; el total queda en {@link #getFailedRows()}.
+ */
+@Getter
+public class UserImportJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    public record RowError(long line, String message) {
+    }
+
+    private final String id;
+    private final int errorLimit;
+    private final Instant createdAt = Instant.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String failureReason;
+
+    private final AtomicLong processedRows = new AtomicLong();
+    private final AtomicLong importedRows = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+    private final List<RowError> errors = new ArrayList<>();
+
+    public UserImportJob(String id, int errorLimit) {
+        this.id = id;
+        this.errorLimit = errorLimit;
+    }
+
+    public void start() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    public void complete() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    public void fail(String reason) {
+        failureReason = reason;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public void recordProcessed(int rows) {
+        processedRows.addAndGet(rows);
+    }
+
+    public void recordImported(int rows) {
+        importedRows.addAndGet(rows);
+    }
+
+    public void recordFailure(long line, String message) {
+        failedRows.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < errorLimit) {
+                errors.add(new RowError(line, message));
+            }
+        }
+    }
+
+    public long getProcessedRows() {
+        return processedRows.get();
+    }
+
+    public long getImportedRows() {
+        return importedRows.get();
+    }
+
+    public long getFailedRows() {
+        return failedRows.get();
+    }
+
+    public List<RowError> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+}
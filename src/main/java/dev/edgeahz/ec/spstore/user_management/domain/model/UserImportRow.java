@@ -0,0 +1,15 @@
+package dev.edgeahz.ec.spstore.user_management.domain.model;
+
+import java.util.List;
+
+/**
+ * Una línea del archivo de importación. {@code passwordHash} trae un hash BCrypt existente que se
+ * guarda tal cual; si es {@code null} se usa la contraseña en claro de {@code user}. Una línea que
+ * no se pudo interpretar llega con {@code error} y sin usuario.
+ */
+public record UserImportRow(long line, User user, String passwordHash, List<String> roleNames, String error) {
+
+    public static UserImportRow invalid(long line, String error) {
+        return new UserImportRow(line, null, null, List.of(), error);
+    }
+}
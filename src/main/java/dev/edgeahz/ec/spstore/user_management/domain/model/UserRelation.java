@@ -0,0 +1,28 @@
+package dev.edgeahz.ec.spstore.user_management.domain.model;
+
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ValidationException;
+
+public enum UserRelation {
+    ROLES("roles"),
+    ADDRESSES("addresses"),
+    PHONES("phones");
+
+    private final String value;
+
+    UserRelation(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static UserRelation fromValue(String value) {
+        for (UserRelation relation : values()) {
+            if (relation.value.equalsIgnoreCase(value.trim())) {
+                return relation;
+            }
+        }
+        throw ValidationException.of("expand", "Relación no soportada: " + value);
+    }
+}
@@ -0,0 +1,30 @@
+package dev.edgeahz.ec.spstore.user_management.domain.model;
+
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ValidationException;
+
+public enum UserSort {
+    ID("id"),
+    CREATED_AT("createdAt");
+
+    private final String value;
+
+    UserSort(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static UserSort fromValue(String value) {
+        if (value == null) {
+            return ID;
+        }
+        for (UserSort sort : values()) {
+            if (sort.value.equals(value)) {
+                return sort;
+            }
+        }
+        throw ValidationException.of("sort", "Orden no soportado: " + value);
+    }
+}
@@ -0,0 +1,40 @@
+package dev.edgeahz.ec.spstore.user_management.domain.model;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+
+/**
+ * Estado de versión del agregado de usuario: la última modificación de la fila del usuario, de
+ * sus direcciones, teléfonos y roles asignados y de las asignaciones de rol, más los conteos de
+ * cada relación (un borrado no cambia el máximo de {@code updated_at} de las filas que quedan). Cualquier escritura sobre el
+ * agregado produce un {@link #tag()} distinto, que se usa como ETag.
+ */
+public record UserVersion(Instant userUpdatedAt,
+                          Instant addressesUpdatedAt, int addresses,
+                          Instant phonesUpdatedAt, int phones,
+                          Instant rolesUpdatedAt, int roles, Instant rolesAssignedAt) {
+
+    private static final char SEPARATOR = '.';
+
+    /**
+     * Codificación exacta (no un hash) de todos los campos en base 36, con microsegundos.
+     */
+    public String tag() {
+        return new StringBuilder(64)
+                .append(micros(userUpdatedAt)).append(SEPARATOR)
+                .append(micros(addressesUpdatedAt)).append(SEPARATOR).append(Integer.toString(addresses, 36)).append(SEPARATOR)
+                .append(micros(phonesUpdatedAt)).append(SEPARATOR).append(Integer.toString(phones, 36)).append(SEPARATOR)
+                .append(micros(rolesUpdatedAt)).append(SEPARATOR).append(Integer.toString(roles, 36)).append(SEPARATOR)
+                .append(micros(rolesAssignedAt))
+                .toString();
+    }
+
+    public boolean matchesAny(Collection<String> tags) {
+        return tags.contains(tag());
+    }
+
+    private static String micros(Instant instant) {
+        return instant == null ? "0" : Long.toString(ChronoUnit.MICROS.between(Instant.EPOCH, instant), 36);
+    }
+}
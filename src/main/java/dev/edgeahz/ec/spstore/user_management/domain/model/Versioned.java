@@ -0,0 +1,14 @@
+package dev.edgeahz.ec.spstore.user_management.domain.model;
+
+import java.util.function.Function;
+
+/**
+ * Un valor del agregado de usuario junto con la {@link UserVersion} leída en la misma instantánea:
+ * la ETag calculada con {@code version} describe exactamente {@code value}.
+ */
+public record Versioned<T>(T value, UserVersion version) {
+
+    public <R> Versioned<R> map(Function<? super T, ? extends R> mapper) {
+        return new Versioned<>(mapper.apply(value), version);
+    }
+}
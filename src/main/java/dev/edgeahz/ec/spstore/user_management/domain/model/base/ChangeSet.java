@@ -0,0 +1,47 @@
+package dev.edgeahz.ec.spstore.user_management.domain.model.base;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Atributos de un modelo modificados desde que se leyó de la base de datos, para que el
+ * repositorio actualice solo esas columnas. Mientras no se active el seguimiento (modelos nuevos
+ * o construidos a partir de una petición) se consideran modificados todos.
+ */
+public final class ChangeSet<E extends Enum<E>> {
+
+    private final Class<E> type;
+    private boolean tracking;
+    // Se crea con el primer cambio: la mayoría de los modelos leídos nunca se modifican
+    private EnumSet<E> changed;
+
+    public ChangeSet(Class<E> type) {
+        this.type = type;
+    }
+
+    // Asignar el mismo valor no cuenta como cambio
+    public void record(E attribute, Object current, Object next) {
+        if (tracking && !Objects.equals(current, next)) {
+            if (changed == null) {
+                changed = EnumSet.noneOf(type);
+            }
+            changed.add(attribute);
+        }
+    }
+
+    /**
+     * Toma el estado actual como el persistido: a partir de aquí solo cuentan los cambios nuevos.
+     */
+    public void track() {
+        tracking = true;
+        changed = null;
+    }
+
+    public Set<E> changed() {
+        if (!tracking) {
+            return EnumSet.allOf(type);
+        }
+        return changed == null ? EnumSet.noneOf(type) : EnumSet.copyOf(changed);
+    }
+}
@@ -0,0 +1,89 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom sobre cadenas, seguro para escrituras y lecturas concurrentes. Los índices se
+ * derivan de dos hashes de 64 bits (Kirsch-Mitzenmacher), calculados sobre los caracteres sin
+ * copiar la cadena.
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    private BloomFilter(long bitSize, int hashFunctions) {
+        int wordCount = Math.toIntExact((bitSize + Long.SIZE - 1) / Long.SIZE);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitSize = (long) wordCount * Long.SIZE;
+        this.hashFunctions = hashFunctions;
+    }
+
+    static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions debe ser mayor que 0");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate debe estar entre 0 y 1");
+        }
+
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * LN2));
+        return new BloomFilter(Math.max(Long.SIZE, bits), hashes);
+    }
+
+    void put(CharSequence value) {
+        long hash1 = hash(value, 0L);
+        long hash2 = hash(value, hash1) | 1L;
+
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitSize);
+            long mask = 1L << index;
+            int word = (int) (index >>> 6);
+            // Solo se escribe si el bit no estaba activo, para no invalidar líneas de caché sin necesidad
+            if ((words.get(word) & mask) == 0) {
+                words.accumulateAndGet(word, mask, (current, bit) -> current | bit);
+            }
+        }
+    }
+
+    boolean mightContain(CharSequence value) {
+        long hash1 = hash(value, 0L);
+        long hash2 = hash(value, hash1) | 1L;
+
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitSize);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long bitSize() {
+        return bitSize;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    // FNV-1a sobre los caracteres, con la mezcla final de MurmurHash3 para repartir los bits
+    private static long hash(CharSequence value, long seed) {
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
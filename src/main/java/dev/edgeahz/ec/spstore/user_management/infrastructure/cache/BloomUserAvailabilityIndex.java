@@ -0,0 +1,119 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.cache;
+
+import dev.edgeahz.ec.spstore.user_management.application.port.output.UserAvailabilityIndex;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.UserRepository;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.config.UserAvailabilityProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Filtros de Bloom con todos los nombres de usuario y correos registrados. Los filtros se crean
+ * vacíos al arrancar y se llenan en segundo plano leyendo {@code users}; mientras tanto
+ * {@link #isReady()} es {@code false} y el llamador debe consultar la base de datos. Los registros
+ * hechos durante la carga se aplican de inmediato, por lo que no se pierden.
+ * <p>
+ * Los filtros son locales al proceso: las altas de otras instancias nunca llegan a ellos. Por eso
+ * solo se construyen con {@code user-management.availability.trust-negatives}, pensado para
+ * despliegues de una sola instancia; sin él {@link #isReady()} nunca es {@code true}.
+ */
+@Slf4j
+@Component
+public class BloomUserAvailabilityIndex implements UserAvailabilityIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    // Letras sin descomposición NFD que la colación compara como otra secuencia
+    private static final String[][] EXPANSIONS = {
+            {"ß", "ss"}, {"æ", "ae"}, {"œ", "oe"}, {"ø", "o"}, {"đ", "d"}, {"ð", "d"}, {"ł", "l"}, {"ı", "i"}
+    };
+
+    private final UserRepository userRepository;
+    private final UserAvailabilityProperties properties;
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+
+    private volatile boolean ready;
+
+    public BloomUserAvailabilityIndex(UserRepository userRepository, UserAvailabilityProperties properties) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.usernames = BloomFilter.create(properties.getExpectedInsertions(), properties.getFalsePositiveRate());
+        this.emails = BloomFilter.create(properties.getExpectedInsertions(), properties.getFalsePositiveRate());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAsync() {
+        if (!properties.isTrustNegatives()) {
+            log.info("Filtros de disponibilidad desactivados: cada comprobación consulta la base de datos");
+            return;
+        }
+
+        Thread.ofPlatform()
+                .name("availability-index-loader")
+                .daemon()
+                .start(this::load);
+    }
+
+    void load() {
+        log.info("Construyendo filtros de disponibilidad ({} bits, {} funciones hash por filtro)",
+                usernames.bitSize(), usernames.hashFunctions());
+        long start = System.nanoTime();
+
+        try {
+            long[] loaded = {0};
+            userRepository.streamUsernamesAndEmails(properties.getFetchSize(), (username, email) -> {
+                register(username, email);
+                loaded[0]++;
+            });
+
+            ready = true;
+            log.info("Filtros de disponibilidad listos con {} usuarios en {} ms",
+                    loaded[0], (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("No se pudieron construir los filtros de disponibilidad; se consultará la base de datos", e);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public boolean mightContainUsername(String username) {
+        return usernames.mightContain(normalize(username));
+    }
+
+    @Override
+    public boolean mightContainEmail(String email) {
+        return emails.mightContain(normalize(email));
+    }
+
+    @Override
+    public void register(String username, String email) {
+        if (username != null) {
+            usernames.put(normalize(username));
+        }
+        if (email != null) {
+            emails.put(normalize(email));
+        }
+    }
+
+    // utf8mb4_0900_ai_ci ignora mayúsculas y acentos y además expande algunas letras (ß = ss,
+    // æ = ae) o las iguala a su base sin diacrítico (ø = o, ł = l). La clave tiene que igualar al
+    // menos los mismos valores: si dos valores iguales para MySQL dieran claves distintas, el filtro
+    // respondería "disponible" para uno ya registrado
+    private static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String folded = COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        for (String[] expansion : EXPANSIONS) {
+            folded = folded.replace(expansion[0], expansion[1]);
+        }
+        return folded;
+    }
+}
@@ -0,0 +1,327 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.UserCache;
+import dev.edgeahz.ec.spstore.user_management.application.port.output.UserRepository;
+import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserCursor;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserFetchPlan;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserSort;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserVersion;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Versioned;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.config.UserCacheProperties;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository.JooqUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Caché de lectura de agregados {@link User} completos delante de {@link JooqUserRepository}.
+ * Las búsquedas por nombre de usuario y correo usan índices secundarios que apuntan al ID; las
+ * lecturas con un plan distinto de {@link UserFetchPlan#FULL} van directo a la base de datos.
+ * Cada lectura devuelve una copia: la instancia guardada no sale de la caché. Cada entrada guarda
+ * también la {@link UserVersion} leída en la misma transacción que el agregado, así que la ETag de
+ * una respuesta servida desde la caché corresponde a su cuerpo.
+ * <p>
+ * Un fallo de caché se carga una sola vez por clave en un ejecutor propio: las peticiones
+ * concurrentes esperan el mismo future y una invalidación mientras la carga está en curso lo
+ * descarta, así que su resultado nunca reemplaza a una escritura posterior. Las lecturas dentro de
+ * una transacción de escritura no usan la caché.
+ * <p>
+ * La carga se hace siempre en el primario, en una transacción propia de lectura y escritura,
+ * aunque quien la pidió esté en una de solo lectura. Una réplica puede ir hasta {@code max-replica-lag}
+ * por detrás: leída justo después de la invalidación de una escritura, volvería a guardar el
+ * agregado anterior durante todo el TTL.
+ */
+@Slf4j
+@Primary
+@Repository
+public class CachingUserRepository implements UserRepository, UserCache {
+
+    private final JooqUserRepository delegate;
+    private final boolean enabled;
+    private final ExecutorService loadExecutor;
+    private final AsyncCache<Long, Versioned<User>> usersById;
+    private final AsyncCache<String, Long> idsByUsername;
+    private final AsyncCache<String, Long> idsByEmail;
+    private final TransactionTemplate primaryRead;
+    private final Timer loadTimer;
+
+    public CachingUserRepository(JooqUserRepository delegate, UserCacheProperties properties,
+                                 PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.enabled = properties.isEnabled();
+        // No es de solo lectura a propósito: ReadWriteRoutingDataSource la envía al primario, y las
+        // consultas del agregado ven una sola instantánea
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setName("user-cache-load");
+        // La carga no corre dentro del cómputo del mapa de Caffeine (un bloque synchronized que con
+        // hilos virtuales fijaría el portador durante la consulta), sino en su propio hilo
+        this.loadExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("user-cache-load-", 0).factory());
+        this.usersById = newCache(properties, loadExecutor);
+        this.idsByUsername = newCache(properties, loadExecutor);
+        this.idsByEmail = newCache(properties, loadExecutor);
+        this.loadTimer = Timer.builder("cache.users.load")
+                .description("Tiempo de carga de un agregado de usuario ante un fallo de caché")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById.synchronous(), "users");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByUsername.synchronous(), "users-by-username");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail.synchronous(), "users-by-email");
+    }
+
+    private static <K, V> AsyncCache<K, V> newCache(UserCacheProperties properties, Executor executor) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .executor(executor)
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Override
+    public Optional<User> findById(Long id, UserFetchPlan plan) {
+        if (!enabled || !UserFetchPlan.FULL.equals(plan) || inReadWriteTransaction()) {
+            return delegate.findById(id, plan);
+        }
+
+        return Optional.ofNullable(loadById(id)).map(cached -> UserCopies.of(cached.value()));
+    }
+
+    @Override
+    public Optional<Versioned<User>> findVersionedById(Long id, UserFetchPlan plan) {
+        if (!enabled || !UserFetchPlan.FULL.equals(plan) || inReadWriteTransaction()) {
+            return delegate.findVersionedById(id, plan);
+        }
+
+        return Optional.ofNullable(loadById(id)).map(cached -> cached.map(UserCopies::of));
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username, UserFetchPlan plan) {
+        if (!enabled || !UserFetchPlan.FULL.equals(plan) || inReadWriteTransaction()) {
+            return delegate.findByUsername(username, plan);
+        }
+
+        return findBySecondaryKey(idsByUsername, normalize(username), User::getUsername, delegate::findByUsername);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email, UserFetchPlan plan) {
+        if (!enabled || !UserFetchPlan.FULL.equals(plan) || inReadWriteTransaction()) {
+            return delegate.findByEmail(email, plan);
+        }
+
+        return findBySecondaryKey(idsByEmail, normalize(email), User::getEmail, delegate::findByEmail);
+    }
+
+    private Optional<User> findBySecondaryKey(AsyncCache<String, Long> index, String key, Function<User, String> keyOf,
+                                              BiFunction<String, UserFetchPlan, Optional<User>> finder) {
+        // La clave se resuelve a un ID con la fila de users y el agregado sale de usersById, así
+        // que también las búsquedas secundarias comparten la carga por clave
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Long id = join(index.get(key, (k, executor) -> CompletableFuture.supplyAsync(
+                    () -> primaryRead.execute(status -> finder.apply(k, UserFetchPlan.BASIC).map(User::getId).orElse(null)),
+                    executor)));
+            if (id == null) {
+                return Optional.empty();
+            }
+
+            Versioned<User> cached = loadById(id);
+            if (cached != null && normalize(keyOf.apply(cached.value())).equals(key)) {
+                return Optional.of(UserCopies.of(cached.value()));
+            }
+            // La entrada apuntaba a un usuario que después cambió de nombre o correo
+            index.synchronous().invalidate(key);
+        }
+
+        // Cambios concurrentes en ambos intentos: se responde sin pasar por la caché
+        return finder.apply(key, UserFetchPlan.FULL);
+    }
+
+    private Versioned<User> loadById(Long id) {
+        return join(usersById.get(id, (key, executor) -> CompletableFuture.supplyAsync(() -> load(key), executor)));
+    }
+
+    private Versioned<User> load(Long id) {
+        Versioned<User> loaded = loadTimer.record(() -> primaryRead.execute(
+                status -> delegate.findVersionedById(id, UserFetchPlan.FULL).orElse(null)));
+        if (loaded != null) {
+            User user = loaded.value();
+            // Las entradas secundarias se comprueban al leerlas: una que quede vieja solo cuesta otra consulta
+            idsByUsername.put(normalize(user.getUsername()), CompletableFuture.completedFuture(id));
+            idsByEmail.put(normalize(user.getEmail()), CompletableFuture.completedFuture(id));
+        }
+        return loaded;
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Una transacción de escritura puede haber modificado ya el agregado: lee en su propia conexión
+    // y nada de lo que ve antes del commit entra en la caché
+    private static boolean inReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    // MySQL compara usuario y correo sin distinguir mayúsculas
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public User save(User user) {
+        User saved = delegate.save(user);
+        evict(user.getId());
+        return saved;
+    }
+
+    @Override
+    public Map<String, Long> insertAll(List<User> users) {
+        // Usuarios nuevos: no hay entradas que invalidar
+        return delegate.insertAll(users);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        evict(id);
+    }
+
+    @Override
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+
+        usersById.synchronous().invalidate(userId);
+        // Si hay una transacción en curso, se vuelve a invalidar tras el commit: descarta también una
+        // carga iniciada antes del commit que todavía no terminó
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    usersById.synchronous().invalidate(userId);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        log.debug("Invalidando la caché completa de usuarios");
+        invalidateAll();
+        // Igual que en evict: una carga del primario hecha antes del commit volvería a guardar los
+        // agregados con el estado anterior durante todo el TTL
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateAll();
+                }
+            });
+        }
+    }
+
+    private void invalidateAll() {
+        usersById.synchronous().invalidateAll();
+        idsByUsername.synchronous().invalidateAll();
+        idsByEmail.synchronous().invalidateAll();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loadExecutor.shutdownNow();
+    }
+
+    @Override
+    public List<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<User> findPage(UserCursor after, int limit, UserSort sort, UserFetchPlan plan) {
+        return delegate.findPage(after, limit, sort, plan);
+    }
+
+    @Override
+    public void streamAll(Consumer<User> consumer) {
+        delegate.streamAll(consumer);
+    }
+
+    @Override
+    public void streamUsernamesAndEmails(int fetchSize, BiConsumer<String, String> consumer) {
+        delegate.streamUsernamesAndEmails(fetchSize, consumer);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public boolean lockById(Long id) {
+        return delegate.lockById(id);
+    }
+
+    @Override
+    public Optional<UserVersion> findVersion(Long id) {
+        // Nunca desde la caché: If-Match se comprueba contra la versión actual de la fila bloqueada
+        return delegate.findVersion(id);
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return delegate.existsByUsername(username);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        return delegate.findExistingUsernames(usernames);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return delegate.findExistingEmails(emails);
+    }
+}
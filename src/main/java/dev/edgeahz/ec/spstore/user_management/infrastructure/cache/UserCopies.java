@@ -0,0 +1,110 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.cache;
+
+import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Phone;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Role;
+import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Copias profundas de un agregado {@link User}. La caché nunca entrega la instancia que guarda:
+ * los modelos son mutables y un servicio que los modifica antes del commit dejaría el cambio
+ * visible para otras peticiones aunque la transacción haga rollback. Las copias salen con el
+ * seguimiento de cambios activo, igual que un agregado recién leído.
+ */
+final class UserCopies {
+
+    private UserCopies() {
+    }
+
+    static User of(User user) {
+        User copy = User.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .password(user.getPassword())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .birthDate(user.getBirthDate())
+                .enabled(user.isEnabled())
+                .roles(copyAll(user.getRoles(), UserCopies::of))
+                .addresses(copyAll(user.getAddresses(), UserCopies::of))
+                .phones(copyAll(user.getPhones(), UserCopies::of))
+                .version(user.getVersion())
+                .createdBy(user.getCreatedBy())
+                .updatedBy(user.getUpdatedBy())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+        copy.trackChanges();
+        return copy;
+    }
+
+    private static Role of(Role role) {
+        Role copy = Role.builder()
+                .id(role.getId())
+                .name(role.getName())
+                .description(role.getDescription())
+                .createdBy(role.getCreatedBy())
+                .updatedBy(role.getUpdatedBy())
+                .createdAt(role.getCreatedAt())
+                .updatedAt(role.getUpdatedAt())
+                .build();
+        copy.trackChanges();
+        return copy;
+    }
+
+    private static Address of(Address address) {
+        Address copy = Address.builder()
+                .id(address.getId())
+                .userId(address.getUserId())
+                .street(address.getStreet())
+                .city(address.getCity())
+                .state(address.getState())
+                .country(address.getCountry())
+                .zipCode(address.getZipCode())
+                .isDefault(address.isDefault())
+                .label(address.getLabel())
+                .version(address.getVersion())
+                .createdBy(address.getCreatedBy())
+                .updatedBy(address.getUpdatedBy())
+                .createdAt(address.getCreatedAt())
+                .updatedAt(address.getUpdatedAt())
+                .build();
+        copy.trackChanges();
+        return copy;
+    }
+
+    private static Phone of(Phone phone) {
+        Phone copy = Phone.builder()
+                .id(phone.getId())
+                .userId(phone.getUserId())
+                .number(phone.getNumber())
+                .countryCode(phone.getCountryCode())
+                .type(phone.getType())
+                .isDefault(phone.isDefault())
+                .version(phone.getVersion())
+                .createdBy(phone.getCreatedBy())
+                .updatedBy(phone.getUpdatedBy())
+                .createdAt(phone.getCreatedAt())
+                .updatedAt(phone.getUpdatedAt())
+                .build();
+        copy.trackChanges();
+        return copy;
+    }
+
+    // null se conserva: indica una relación no cargada, distinta de una lista vacía
+    private static <T> List<T> copyAll(List<T> items, UnaryOperator<T> copier) {
+        if (items == null) {
+            return null;
+        }
+        List<T> copies = new ArrayList<>(items.size());
+        for (T item : items) {
+            copies.add(copier.apply(item));
+        }
+        return copies;
+    }
+}
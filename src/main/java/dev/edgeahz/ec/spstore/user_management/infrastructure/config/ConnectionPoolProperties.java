@@ -0,0 +1,58 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user-management.connection-pool")
+public class ConnectionPoolProperties {
+
+    /**
+     * Una conexión retenida más que esto se registra en WARN con el endpoint y el caso de uso
+     * que la sacaron del pool.
+     */
+    private Duration longHoldThreshold = Duration.ofMillis(500);
+
+    private Advisor advisor = new Advisor();
+
+    @Getter
+    @Setter
+    public static class Advisor {
+
+        /**
+         * Calcula periódicamente el tamaño de pool recomendado para el primario.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Cada cuánto se muestrea la demanda (conexiones activas + peticiones en espera).
+         */
+        private Duration sampleInterval = Duration.ofSeconds(1);
+
+        /**
+         * Ventana sobre la que se calcula cada recomendación.
+         */
+        private Duration window = Duration.ofMinutes(1);
+
+        /**
+         * Margen sobre la demanda observada, para absorber picos más cortos que el muestreo.
+         */
+        private double headroom = 0.2;
+
+        /**
+         * Límites de la recomendación y del redimensionado automático.
+         */
+        private int minSize = 5;
+
+        private int maxSize = 50;
+
+        /**
+         * Aplica la recomendación al pool en caliente. Desactivado, solo se publica y se registra.
+         */
+        private boolean autoResize = false;
+    }
+}
@@ -0,0 +1,52 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.datasource.ConnectionHoldTracker;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.datasource.ConnectionPoolAdvisor;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.datasource.ReadWriteRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Pool del primario configurado con {@code spring.datasource} y, por delante, un
+ * {@link LazyConnectionDataSourceProxy}: el bean {@code @Primary} que usan el gestor de
+ * transacciones, Flyway y el {@code ConnectionProvider} de jOOQ. Una transacción que no llega a
+ * ejecutar SQL (p. ej. una lectura servida desde la caché) no saca ninguna conexión de Hikari.
+ * Entre ambos, {@link ConnectionHoldTracker} mide cuánto retiene cada caso de uso su conexión.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ObjectProvider<ReadWriteRoutingDataSource> routingDataSource,
+                                 MeterRegistry meterRegistry, ConnectionPoolProperties properties) {
+        DataSource target = routingDataSource.getIfAvailable(() -> primaryDataSource);
+        return new LazyConnectionDataSourceProxy(
+                new ConnectionHoldTracker(target, meterRegistry, properties.getLongHoldThreshold()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "user-management.connection-pool.advisor", name = "enabled", matchIfMissing = true)
+    public ConnectionPoolAdvisor connectionPoolAdvisor(HikariDataSource primaryDataSource, MeterRegistry meterRegistry,
+                                                       ConnectionPoolProperties properties) {
+        return new ConnectionPoolAdvisor(primaryDataSource, meterRegistry, properties.getAdvisor());
+    }
+}
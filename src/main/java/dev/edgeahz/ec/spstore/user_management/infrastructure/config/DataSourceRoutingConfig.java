@@ -0,0 +1,57 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.datasource.ReadWriteRoutingDataSource;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.datasource.ReplicaLagMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Réplicas de lectura, activas con {@code user-management.datasource.routing.enabled}. Si existe,
+ * {@link DataSourceConfig} pone el {@link ReadWriteRoutingDataSource} entre su proxy y el pool
+ * del primario.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "user-management.datasource.routing", name = "enabled")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceRoutingProperties properties, HikariDataSource primaryDataSource,
+                                               MeterRegistry meterRegistry) {
+        List<ReplicaLagMonitor.Replica> replicas = properties.getReplicas().stream()
+                .map(replica -> new ReplicaLagMonitor.Replica(
+                        replica.getName(),
+                        replicaDataSource(replica, primaryDataSource.getDataSourceProperties(), meterRegistry),
+                        replica.getLagQuery(),
+                        replica.getLagColumn()))
+                .toList();
+        return new ReplicaLagMonitor(replicas, properties.getMaxReplicaLag(), meterRegistry);
+    }
+
+    private static HikariDataSource replicaDataSource(DataSourceRoutingProperties.Replica replica, Properties driverProperties,
+                                                      MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        // Mismas propiedades del driver que el primario (caché de sentencias preparadas incluida)
+        dataSource.setDataSourceProperties(driverProperties);
+        dataSource.setPoolName("replica-" + replica.getName());
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor,
+                                                        MeterRegistry meterRegistry) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaLagMonitor, meterRegistry);
+    }
+}
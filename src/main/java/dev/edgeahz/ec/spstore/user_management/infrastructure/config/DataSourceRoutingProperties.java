@@ -0,0 +1,63 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user-management.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    /**
+     * Envía las transacciones de solo lectura a las réplicas. Desactivado, todo va a
+     * {@code spring.datasource} como siempre.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Retraso de replicación tolerado. Una réplica más atrasada, o cuyo estado no se pudo leer,
+     * deja de recibir lecturas hasta que se recupere y estas vuelven al primario.
+     */
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    /**
+     * Cada cuánto se consulta el retraso de las réplicas.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        /**
+         * Nombre de la réplica en logs, métricas y el pool de Hikari.
+         */
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        /**
+         * Consulta que devuelve el retraso de replicación en segundos. Sin filas o con NULL la
+         * réplica se considera detenida.
+         */
+        private String lagQuery = "SHOW REPLICA STATUS";
+
+        /**
+         * Columna del resultado de {@link #lagQuery} con el retraso en segundos.
+         */
+        private String lagColumn = "Seconds_Behind_Source";
+    }
+}
@@ -1,27 +1,37 @@
 package dev.edgeahz.ec.spstore.user_management.infrastructure.config;
 
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.metrics.MeteredConnectionProvider;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.metrics.QueryMetricsListener;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.jooq.ConnectionProvider;
 import org.jooq.DSLContext;
 import org.jooq.ExecuteListenerProvider;
 import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
 import org.jooq.impl.DataSourceConnectionProvider;
 import org.jooq.impl.DefaultConfiguration;
 import org.jooq.impl.DefaultDSLContext;
 import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 @EnableTransactionManagement
 public class JooqConfig {
 
     @Bean
-    public ConnectionProvider connectionProvider(DataSource dataSource) {
-        return new DataSourceConnectionProvider(new TransactionAwareDataSourceProxy(dataSource));
+    public ConnectionProvider connectionProvider(DataSource dataSource, MeterRegistry meterRegistry) {
+        // Dentro de una transacción jOOQ recibe la conexión ligada al hilo en vez de una nueva del pool
+        return new MeteredConnectionProvider(
+                new DataSourceConnectionProvider(new TransactionAwareDataSourceProxy(dataSource)), meterRegistry);
     }
 
     @Bean
@@ -29,19 +39,34 @@ public class JooqConfig {
         return new DefaultExecuteListenerProvider(new JooqExceptionTranslator());
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "user-management.query-metrics", name = "enabled", matchIfMissing = true)
+    public QueryMetricsListener queryMetricsListener(MeterRegistry meterRegistry, QueryMetricsProperties properties) {
+        return new QueryMetricsListener(meterRegistry, properties);
+    }
+
     @Bean
     public DSLContext dsl(org.jooq.Configuration configuration) {
         return new DefaultDSLContext(configuration);
     }
 
     @Bean
-    public org.jooq.Configuration configuration(ConnectionProvider connectionProvider, ExecuteListenerProvider executeListenerProvider) {
+    public org.jooq.Configuration configuration(ConnectionProvider connectionProvider, ExecuteListenerProvider executeListenerProvider,
+                                                ObjectProvider<QueryMetricsListener> queryMetricsListener, JooqProperties properties) {
         DefaultConfiguration jooqConfiguration = new DefaultConfiguration();
         jooqConfiguration.set(connectionProvider);
         jooqConfiguration.set(SQLDialect.MYSQL);
+        // Texto SQL estable entre ejecuciones para que el driver reutilice sus sentencias preparadas
+        jooqConfiguration.set(new Settings()
+                .withInListPadding(properties.isInListPadding())
+                .withInListPadBase(properties.getInListPadBase())
+                .withExecuteLogging(properties.isExecuteLogging()));
 
-        // Configurar listeners para logging y excepciones
-        jooqConfiguration.set(executeListenerProvider);
+        // Configurar listeners para excepciones y métricas de consultas
+        List<ExecuteListenerProvider> listeners = new ArrayList<>();
+        listeners.add(executeListenerProvider);
+        queryMetricsListener.ifAvailable(listener -> listeners.add(new DefaultExecuteListenerProvider(listener)));
+        jooqConfiguration.set(listeners.toArray(ExecuteListenerProvider[]::new));
 
         return jooqConfiguration;
     }
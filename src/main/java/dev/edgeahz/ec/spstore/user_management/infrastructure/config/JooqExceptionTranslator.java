@@ -10,15 +10,21 @@ import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
 import org.springframework.jdbc.support.SQLExceptionTranslator;
 
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class JooqExceptionTranslator implements ExecuteListener {
 
+    // Un traductor por dialecto: crearlo carga y busca los códigos de error en cada excepción
+    private final Map<SQLDialect, SQLExceptionTranslator> translators = new ConcurrentHashMap<>();
+
     @Override
     public void exception(ExecuteContext context) {
         SQLException exception = context.sqlException();
         if (exception != null) {
             SQLDialect dialect = context.configuration().dialect();
-            SQLExceptionTranslator translator = new SQLErrorCodeSQLExceptionTranslator(dialect.name());
+            SQLExceptionTranslator translator = translators.computeIfAbsent(dialect,
+                    key -> new SQLErrorCodeSQLExceptionTranslator(key.name()));
 
             DataAccessException translated = translator.translate("jOOQ", context.sql(), exception);
 
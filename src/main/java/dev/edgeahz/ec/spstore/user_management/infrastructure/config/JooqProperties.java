@@ -0,0 +1,26 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user-management.jooq")
+public class JooqProperties {
+
+    /**
+     * Rellena las listas {@code IN (...)} hasta la siguiente potencia de {@link #inListPadBase}
+     * repitiendo el último valor. Las cargas por bloques de IDs producen así unas pocas formas de
+     * SQL en lugar de una por tamaño de lista, y la caché de sentencias del driver las reutiliza.
+     */
+    private boolean inListPadding = true;
+
+    private int inListPadBase = 2;
+
+    /**
+     * Log DEBUG de cada sentencia con sus valores. jOOQ lo comprueba en cada ejecución aunque el
+     * nivel no esté activo; {@code db.query} y el log de consultas lentas ya cubren su uso.
+     */
+    private boolean executeLogging = false;
+}
@@ -0,0 +1,54 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user-management.password-hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * Hilos dedicados a BCrypt. Por defecto, uno por núcleo: el trabajo es solo CPU.
+     */
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Operaciones que pueden esperar un hilo libre. Por encima se responde 503 de inmediato; debe ser
+     * bastante menor que el máximo de hilos de Tomcat para que las lecturas siempre tengan hilos.
+     */
+    private int queueCapacity = 32;
+
+    /**
+     * Valor de la cabecera Retry-After cuando el pool está saturado.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Costo fijo de BCrypt. Si no se indica, se calibra al arrancar según {@code targetTime}.
+     */
+    private Integer strength;
+
+    /**
+     * Tiempo objetivo (mediana) de un hash al calibrar el costo.
+     */
+    private Duration targetTime = Duration.ofMillis(50);
+
+    /**
+     * Costo mínimo aceptado aunque supere el tiempo objetivo.
+     */
+    private int minStrength = 10;
+
+    /**
+     * Costo máximo que la calibración puede elegir.
+     */
+    private int maxStrength = 16;
+
+    /**
+     * Hashes medidos por cada costo durante la calibración.
+     */
+    private int calibrationSamples = 5;
+}
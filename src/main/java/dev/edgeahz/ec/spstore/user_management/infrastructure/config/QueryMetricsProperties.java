@@ -0,0 +1,29 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user-management.query-metrics")
+public class QueryMetricsProperties {
+
+    /**
+     * Registra un temporizador por forma de consulta SQL y el log de consultas lentas.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Las sentencias que tardan más que esto se registran en WARN, sin valores de parámetros.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    /**
+     * Tope de formas de consulta distintas con métrica propia. Las que superan el tope no se
+     * miden, para que un SQL generado dinámicamente no dispare la cardinalidad en Prometheus.
+     */
+    private int maxQueryShapes = 500;
+}
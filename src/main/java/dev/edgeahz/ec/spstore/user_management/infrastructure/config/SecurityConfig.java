@@ -1,7 +1,14 @@
 package dev.edgeahz.ec.spstore.user_management.infrastructure.config;
 
+import dev.edgeahz.ec.spstore.user_management.infrastructure.security.BCryptCostCalibrator;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.security.PooledPasswordEncoder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -15,15 +22,20 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   @Value("${user-management.import.authority:SCOPE_users.import}") String importAuthority)
+            throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authorize -> authorize
                         // Public endpoints
-                        .requestMatchers("/api/v1/users").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/users").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/users/availability").permitAll()
                         .requestMatchers("/api/v1/password/reset").permitAll()
                         .requestMatchers("/api/v1/password/reset/confirm").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        // La importación masiva crea usuarios con roles: solo para clientes autorizados a ello
+                        .requestMatchers("/api/v1/users/import", "/api/v1/users/import/**").hasAuthority(importAuthority)
                         // Secured endpoints
                         .anyRequest().authenticated()
                 )
@@ -34,7 +46,24 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder bcryptPasswordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        BCryptCostCalibrator.Calibration calibration = BCryptCostCalibrator.calibrate(properties);
+        Gauge.builder("password.hashing.bcrypt.strength", calibration, BCryptCostCalibrator.Calibration::strength)
+                .description("Costo de BCrypt elegido al arrancar")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.calibration.median", calibration, c -> c.median().toNanos() / 1_000_000.0)
+                .description("Mediana medida de un hash con el costo elegido")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        return new BCryptPasswordEncoder(calibration.strength());
+    }
+
+    @Bean
+    @Primary
+    public PasswordEncoder passwordEncoder(BCryptPasswordEncoder bcryptPasswordEncoder, PasswordHashingProperties properties,
+                                           MeterRegistry meterRegistry) {
+        // BCrypt se ejecuta en su propio pool acotado, fuera de los hilos de Tomcat
+        return new PooledPasswordEncoder(bcryptPasswordEncoder, properties, meterRegistry);
     }
 }
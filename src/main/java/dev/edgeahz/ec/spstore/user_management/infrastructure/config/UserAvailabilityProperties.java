@@ -0,0 +1,35 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user-management.availability")
+public class UserAvailabilityProperties {
+
+    /**
+     * Tratar un negativo de los filtros como "disponible" sin consultar la base de datos. Solo es
+     * correcto con una única instancia: los filtros de cada nodo solo ven los altas hechas por él,
+     * así que con varias instancias un usuario creado en otra se daría por disponible. Desactivado,
+     * los filtros no se construyen y cada comprobación usa la consulta por el índice único.
+     */
+    private boolean trustNegatives = false;
+
+    /**
+     * Cantidad de usuarios para la que se dimensionan los filtros. Si se supera, la tasa de falsos
+     * positivos crece, pero nunca se responde "disponible" para un valor existente.
+     */
+    private long expectedInsertions = 1_000_000;
+
+    /**
+     * Tasa de falsos positivos objetivo. Con 1% cada filtro ocupa ~1.2 MB por millón de entradas.
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Filas leídas por viaje a la base de datos al construir los filtros.
+     */
+    private int fetchSize = 1000;
+}
@@ -0,0 +1,29 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user-management.cache.users")
+public class UserCacheProperties {
+
+    /**
+     * Habilita la caché de agregados de usuario delante del repositorio.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Cantidad máxima de agregados en memoria.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Tiempo de vida de cada entrada desde que se cargó. Acota la desactualización frente a
+     * cambios hechos por otros nodos.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,21 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user-management.export")
+public class UserExportProperties {
+
+    /**
+     * Filas que el driver trae por viaje al servidor mientras se recorre el cursor de usuarios.
+     */
+    private int fetchSize = 1000;
+
+    /**
+     * Usuarios por bloque al cargar roles, direcciones y teléfonos durante la exportación.
+     */
+    private int chunkSize = 500;
+}
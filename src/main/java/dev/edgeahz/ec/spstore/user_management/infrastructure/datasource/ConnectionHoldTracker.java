@@ -0,0 +1,132 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide cuánto tiempo se retiene cada conexión, desde que sale del pool hasta que se cierra, en
+ * {@code db.connection.hold} etiquetado con el endpoint HTTP y el caso de uso que la pidieron, y con
+ * el pool de destino ({@code target}): el tracker está por encima de {@link ReadWriteRoutingDataSource},
+ * así que también ve las conexiones de las réplicas. Las retenciones por encima del umbral se
+ * registran con ese mismo origen.
+ */
+@Slf4j
+public class ConnectionHoldTracker extends DelegatingDataSource {
+
+    private final MeterRegistry meterRegistry;
+    private final long longHoldNanos;
+
+    public ConnectionHoldTracker(DataSource target, MeterRegistry meterRegistry, Duration longHoldThreshold) {
+        super(target);
+        this.meterRegistry = meterRegistry;
+        this.longHoldNanos = longHoldThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    // El enrutado se resuelve en este mismo hilo dentro de getConnection
+    private Connection track(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Hold(connection, ReadWriteRoutingDataSource.takeResolvedTarget(), endpoint(), UseCaseContext.current(),
+                        System.nanoTime()));
+    }
+
+    private static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                return request.getMethod() + " " + pattern;
+            }
+        }
+        return UseCaseContext.NONE;
+    }
+
+    private void release(Hold hold) {
+        long held = System.nanoTime() - hold.acquiredAt;
+        Timer.builder("db.connection.hold")
+                .description("Tiempo que una conexión permanece fuera del pool")
+                .tag("target", hold.target)
+                .tag("endpoint", hold.endpoint)
+                .tag("use_case", hold.useCase)
+                .register(meterRegistry)
+                .record(held, TimeUnit.NANOSECONDS);
+
+        if (held >= longHoldNanos) {
+            log.warn("Conexión retenida {} ms por {} ({})",
+                    TimeUnit.NANOSECONDS.toMillis(held), hold.useCase, hold.endpoint);
+        }
+    }
+
+    private final class Hold implements InvocationHandler {
+
+        private final Connection connection;
+        private final String target;
+        private final String endpoint;
+        private final String useCase;
+        private final long acquiredAt;
+        private boolean closed;
+
+        private Hold(Connection connection, String target, String endpoint, String useCase, long acquiredAt) {
+            this.connection = connection;
+            this.target = target;
+            this.endpoint = endpoint;
+            this.useCase = useCase;
+            this.acquiredAt = acquiredAt;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        release(this);
+                    }
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                }
+            }
+
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.config.ConnectionPoolProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recomienda un tamaño para el pool del primario a partir de dos estimaciones de la concurrencia
+ * necesaria en la última ventana, y se queda con la mayor:
+ * <ul>
+ *     <li>el pico muestreado de conexiones activas más peticiones esperando una, y</li>
+ *     <li>la ley de Little sobre {@code db.connection.hold} del primario ({@code target=primary}):
+ *     conexiones sacadas por segundo por tiempo medio de retención (que ya incluye la latencia de
+ *     las consultas).</li>
+ * </ul>
+ * Al resultado se le suma {@code headroom} y se acota a {@code [minSize, maxSize]}. Con
+ * {@code autoResize} se aplica al pool en caliente; si no, solo se publica en
+ * {@code hikari.pool.recommended.size} y se registra cuando cambia.
+ */
+@Slf4j
+public class ConnectionPoolAdvisor {
+
+    private final HikariDataSource pool;
+    private final MeterRegistry meterRegistry;
+    private final ConnectionPoolProperties.Advisor properties;
+    private final AtomicInteger peakDemand = new AtomicInteger();
+    private final AtomicInteger recommended = new AtomicInteger();
+
+    private long lastCount;
+    private double lastTotalSeconds;
+    private long lastEvaluation = System.nanoTime();
+
+    public ConnectionPoolAdvisor(HikariDataSource pool, MeterRegistry meterRegistry, ConnectionPoolProperties.Advisor properties) {
+        this.pool = pool;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.recommended.set(pool.getMaximumPoolSize());
+
+        Gauge.builder("hikari.pool.recommended.size", recommended, AtomicInteger::get)
+                .description("Tamaño de pool recomendado según la demanda de la última ventana")
+                .tag("pool", pool.getPoolName() != null ? pool.getPoolName() : "primary")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${user-management.connection-pool.advisor.sample-interval:PT1S}")
+    public void sample() {
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        if (mxBean != null) {
+            int demand = mxBean.getActiveConnections() + mxBean.getThreadsAwaitingConnection();
+            peakDemand.accumulateAndGet(demand, Math::max);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${user-management.connection-pool.advisor.window:PT1M}",
+            fixedDelayString = "${user-management.connection-pool.advisor.window:PT1M}"
+    )
+    public void evaluate() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastEvaluation) / 1e9;
+        lastEvaluation = now;
+
+        // Suma de las series de db.connection.hold del primario (una por endpoint y caso de uso); las
+        // retenciones de las réplicas no ocupan este pool
+        long count = 0;
+        double totalSeconds = 0;
+        for (Timer timer : meterRegistry.find("db.connection.hold").tag("target", ReadWriteRoutingDataSource.PRIMARY).timers()) {
+            count += timer.count();
+            totalSeconds += timer.totalTime(TimeUnit.SECONDS);
+        }
+        long checkouts = count - lastCount;
+        double heldSeconds = totalSeconds - lastTotalSeconds;
+        lastCount = count;
+        lastTotalSeconds = totalSeconds;
+
+        // λ·W = (checkouts / ventana) · (tiempo retenido / checkouts) = tiempo retenido / ventana
+        double littleEstimate = elapsedSeconds > 0 ? heldSeconds / elapsedSeconds : 0;
+        int peak = peakDemand.getAndSet(0);
+        int size = (int) Math.ceil(Math.max(peak, littleEstimate) * (1 + properties.getHeadroom()));
+        size = Math.clamp(size, properties.getMinSize(), properties.getMaxSize());
+
+        int previous = recommended.getAndSet(size);
+        if (size != previous) {
+            log.info("Tamaño de pool recomendado: {} (actual: {}, pico de demanda: {}, Little: {} con {} conexiones en {} s)",
+                    size, pool.getMaximumPoolSize(), peak, String.format("%.1f", littleEstimate), checkouts,
+                    Math.round(elapsedSeconds));
+        }
+
+        if (properties.isAutoResize() && size != pool.getMaximumPoolSize()) {
+            resize(size);
+        }
+    }
+
+    private void resize(int size) {
+        int current = pool.getMaximumPoolSize();
+        // minimumIdle no puede quedar por encima del máximo
+        if (pool.getMinimumIdle() > size) {
+            pool.getHikariConfigMXBean().setMinimumIdle(size);
+        }
+        pool.getHikariConfigMXBean().setMaximumPoolSize(size);
+        log.warn("Pool de conexiones redimensionado de {} a {}", current, size);
+    }
+}
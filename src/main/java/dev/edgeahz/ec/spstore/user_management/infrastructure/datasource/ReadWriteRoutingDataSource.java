@@ -0,0 +1,99 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Elige el pool en el momento de pedir la conexión: las transacciones {@code readOnly} van a una
+ * réplica apta según {@link ReplicaLagMonitor} (en turno rotativo) y todo lo demás al primario.
+ *
+ * <p>Debe usarse detrás de un {@link LazyConnectionDataSourceProxy}: el gestor de transacciones
+ * pide la conexión antes de marcar la transacción como de solo lectura, y el proxy retrasa la
+ * petición real hasta la primera sentencia, cuando la marca ya está puesta.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    // Destino elegido para la última conexión pedida en este hilo; lo recoge ConnectionHoldTracker
+    private static final ThreadLocal<String> RESOLVED = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final List<String> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter writes;
+    private final Counter fallbacks;
+    private final Map<String, Counter> replicaReads = new HashMap<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.replicas = lagMonitor.replicas().stream()
+                .map(ReplicaLagMonitor.Replica::name)
+                .toList();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        lagMonitor.replicas().forEach(replica -> targets.put(replica.name(), replica.dataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        this.writes = routingCounter(meterRegistry, PRIMARY, "read-write");
+        this.fallbacks = routingCounter(meterRegistry, PRIMARY, "fallback");
+        replicas.forEach(replica -> replicaReads.put(replica, routingCounter(meterRegistry, replica, "read")));
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.routing")
+                .description("Conexiones entregadas por destino y motivo")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Destino ({@link #PRIMARY} o el nombre de la réplica) de la última conexión que este hilo pidió
+     * a un {@code ReadWriteRoutingDataSource}, o {@link #PRIMARY} si no hay enrutado. Lo consume.
+     */
+    public static String takeResolvedTarget() {
+        String target = RESOLVED.get();
+        RESOLVED.remove();
+        return target == null ? PRIMARY : target;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = resolveTarget();
+        RESOLVED.set(target);
+        return target;
+    }
+
+    private String resolveTarget() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return PRIMARY;
+        }
+
+        int size = replicas.size();
+        int start = size == 0 ? 0 : Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            String replica = replicas.get((start + i) % size);
+            if (lagMonitor.isHealthy(replica)) {
+                replicaReads.get(replica).increment();
+                return replica;
+            }
+        }
+
+        fallbacks.increment();
+        return PRIMARY;
+    }
+}
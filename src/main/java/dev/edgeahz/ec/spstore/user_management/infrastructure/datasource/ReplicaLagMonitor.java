@@ -0,0 +1,100 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consulta periódicamente el retraso de replicación de cada réplica y decide cuáles pueden
+ * recibir lecturas. Mientras no haya una medición válida (al arrancar, réplica caída, replicación
+ * detenida) la réplica se trata como no apta y {@link ReadWriteRoutingDataSource} lee del primario.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final long UNKNOWN = -1;
+
+    private final List<Replica> replicas;
+    private final long maxLagSeconds;
+    private final Map<String, AtomicLong> lagSeconds = new LinkedHashMap<>();
+
+    public ReplicaLagMonitor(List<Replica> replicas, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.maxLagSeconds = maxLag.toSeconds();
+
+        for (Replica replica : this.replicas) {
+            AtomicLong lag = new AtomicLong(UNKNOWN);
+            lagSeconds.put(replica.name(), lag);
+            Gauge.builder("datasource.replica.lag", lag, AtomicLong::get)
+                    .description("Retraso de replicación medido en segundos; -1 si no se pudo medir")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    public boolean isHealthy(String replica) {
+        long lag = lagSeconds.get(replica).get();
+        return lag != UNKNOWN && lag <= maxLagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${user-management.datasource.routing.lag-check-interval:PT5S}")
+    public void probe() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = isHealthy(replica.name());
+            long lag = readLag(replica);
+            lagSeconds.get(replica.name()).set(lag);
+
+            boolean healthy = isHealthy(replica.name());
+            if (wasHealthy && !healthy) {
+                log.warn("Réplica {} fuera de servicio para lecturas (retraso: {} s, tolerado: {} s)",
+                        replica.name(), lag, maxLagSeconds);
+            } else if (!wasHealthy && healthy) {
+                log.info("Réplica {} disponible para lecturas (retraso: {} s)", replica.name(), lag);
+            }
+        }
+    }
+
+    private static long readLag(Replica replica) {
+        try (Connection connection = replica.dataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(replica.lagQuery())) {
+            if (!resultSet.next()) {
+                return UNKNOWN;
+            }
+            long lag = resultSet.getLong(replica.lagColumn());
+            return resultSet.wasNull() ? UNKNOWN : lag;
+        } catch (SQLException e) {
+            log.debug("No se pudo consultar el retraso de la réplica {}: {}", replica.name(), e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    public record Replica(String name, DataSource dataSource, String lagQuery, String lagColumn) {
+    }
+}
@@ -0,0 +1,31 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Anota el hilo con el servicio de aplicación que inició el trabajo, para atribuirle el tiempo
+ * que retiene cada conexión. Las llamadas anidadas entre servicios no lo cambian.
+ */
+@Aspect
+@Component
+public class UseCaseAspect {
+
+    @Around("within(dev.edgeahz.ec.spstore.user_management.application.service..*)"
+            + " && @within(org.springframework.stereotype.Service)")
+    public Object tagUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (UseCaseContext.isActive()) {
+            return joinPoint.proceed();
+        }
+
+        UseCaseContext.enter(joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            UseCaseContext.exit();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.datasource;
+
+/**
+ * Caso de uso ({@code Servicio.método}) que se ejecuta en el hilo actual. Lo fija
+ * {@link UseCaseAspect} en la llamada más externa a un servicio de aplicación.
+ */
+final class UseCaseContext {
+
+    static final String NONE = "none";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private UseCaseContext() {
+    }
+
+    static String current() {
+        String useCase = CURRENT.get();
+        return useCase != null ? useCase : NONE;
+    }
+
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static void enter(String useCase) {
+        CURRENT.set(useCase);
+    }
+
+    static void exit() {
+        CURRENT.remove();
+    }
+}
@@ -4,14 +4,20 @@ import dev.edgeahz.ec.spstore.user_management.api.rest.dto.ErrorResponse;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.AuthenticationException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.AuthorizationException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.BusinessException;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ConcurrentUpdateException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.DuplicateResourceException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.InvalidTokenException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.PasswordMismatchException;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.PayloadTooLargeException;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.PreconditionFailedException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.ResourceNotFoundException;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ServiceBusyException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.ValidationException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.base.BaseException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.base.ResourceException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -20,18 +26,24 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
 
+@Slf4j
 @RestControllerAdvice
 @RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    // 404, 409 y 412 son resultados esperados: una línea por tipo cada 10 s basta para verlos en el log
+    private final RateLimitedLogger expectedOutcomeLog = new RateLimitedLogger(log, Duration.ofSeconds(10));
+
     // Manejador para ResourceNotFoundException
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        expectedOutcomeLog.warn(ex.getErrorCode() + ":" + ex.getDomain(), ex.getMessage());
         ErrorResponse errorResponse = buildErrorResponse(ex, HttpStatus.NOT_FOUND.value());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
@@ -39,6 +51,15 @@ public class GlobalExceptionHandler {
     // Manejador para DuplicateResourceException
     @ExceptionHandler(DuplicateResourceException.class)
     public ResponseEntity<ErrorResponse> handleDuplicateResourceException(DuplicateResourceException ex) {
+        expectedOutcomeLog.warn(ex.getErrorCode() + ":" + ex.getDomain(), ex.getMessage());
+        ErrorResponse errorResponse = buildErrorResponse(ex, HttpStatus.CONFLICT.value());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    // Manejador para ConcurrentUpdateException
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentUpdateException(ConcurrentUpdateException ex) {
+        expectedOutcomeLog.warn(ex.getErrorCode() + ":" + ex.getDomain(), ex.getMessage());
         ErrorResponse errorResponse = buildErrorResponse(ex, HttpStatus.CONFLICT.value());
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
@@ -86,6 +107,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    // Manejador para PayloadTooLargeException
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handlePayloadTooLargeException(PayloadTooLargeException ex) {
+        ErrorResponse errorResponse = buildErrorResponse(ex, HttpStatus.PAYLOAD_TOO_LARGE.value());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(errorResponse);
+    }
+
+    // Manejador para ServiceBusyException
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ErrorResponse> handleServiceBusyException(ServiceBusyException ex) {
+        ErrorResponse errorResponse = buildErrorResponse(ex, HttpStatus.SERVICE_UNAVAILABLE.value());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(errorResponse);
+    }
+
+    // Manejador para PreconditionFailedException: la ETag vigente permite al cliente releer y reintentar
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex) {
+        expectedOutcomeLog.warn(ex.getErrorCode() + ":" + ex.getDomain(), ex.getMessage());
+        ErrorResponse errorResponse = buildErrorResponse(ex, HttpStatus.PRECONDITION_FAILED.value());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(ex.getCurrentVersion())
+                .body(errorResponse);
+    }
+
     // Manejador genérico para BusinessException
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex) {
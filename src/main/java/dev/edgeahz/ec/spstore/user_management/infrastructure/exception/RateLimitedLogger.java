@@ -0,0 +1,51 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.exception;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registra como mucho un mensaje por clave y ventana de tiempo, e informa en el siguiente cuántos
+ * se omitieron. Sirve para resultados que pueden repetirse miles de veces por segundo (404 de
+ * bots, 409 de reintentos) sin que el log se convierta en el cuello de botella.
+ */
+class RateLimitedLogger {
+
+    private final Logger logger;
+    private final long windowNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    RateLimitedLogger(Logger logger, Duration window) {
+        this.logger = logger;
+        this.windowNanos = window.toNanos();
+    }
+
+    void warn(String key, String message) {
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+
+        Window window = windows.computeIfAbsent(key, ignored -> new Window());
+        long now = System.nanoTime();
+        long next = window.nextAllowed.get();
+        if (now - next < 0 || !window.nextAllowed.compareAndSet(next, now + windowNanos)) {
+            window.suppressed.incrementAndGet();
+            return;
+        }
+
+        long suppressed = window.suppressed.getAndSet(0);
+        if (suppressed > 0) {
+            logger.warn("{} (+{} similares omitidos)", message, suppressed);
+        } else {
+            logger.warn(message);
+        }
+    }
+
+    private static final class Window {
+        private final AtomicLong nextAllowed = new AtomicLong(System.nanoTime());
+        private final AtomicLong suppressed = new AtomicLong();
+    }
+}
@@ -0,0 +1,46 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jooq.ConnectionProvider;
+import org.jooq.exception.DataAccessException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+
+/**
+ * Cuenta las conexiones que pide jOOQ según haya o no una transacción de Spring activa. Dentro
+ * de una transacción todas las sentencias reutilizan la conexión ligada al hilo; fuera, cada una
+ * saca la suya del pool. Comparado con {@code hikari.connections.acquire} da la reutilización
+ * real: sentencias de jOOQ por conexión sacada de Hikari.
+ */
+public class MeteredConnectionProvider implements ConnectionProvider {
+
+    private final ConnectionProvider delegate;
+    private final Counter transactional;
+    private final Counter standalone;
+
+    public MeteredConnectionProvider(ConnectionProvider delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.transactional = acquireCounter(meterRegistry, true);
+        this.standalone = acquireCounter(meterRegistry, false);
+    }
+
+    private static Counter acquireCounter(MeterRegistry meterRegistry, boolean transactional) {
+        return Counter.builder("jooq.connection.acquire")
+                .description("Conexiones pedidas por jOOQ, dentro o fuera de una transacción")
+                .tag("transactional", String.valueOf(transactional))
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection acquire() throws DataAccessException {
+        (TransactionSynchronizationManager.isActualTransactionActive() ? transactional : standalone).increment();
+        return delegate.acquire();
+    }
+
+    @Override
+    public void release(Connection connection) throws DataAccessException {
+        delegate.release(connection);
+    }
+}
@@ -0,0 +1,149 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.metrics;
+
+import dev.edgeahz.ec.spstore.user_management.infrastructure.config.QueryMetricsProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.ExecuteType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mide cada sentencia que ejecuta jOOQ con un temporizador {@code db.query} por forma de
+ * consulta, etiquetado con la tabla principal y el método de repositorio que la emitió, y cuenta
+ * las filas leídas en {@code db.query.rows}. La forma se obtiene del SQL con literales
+ * sustituidos por {@code ?} y las listas {@code IN (...)}/{@code VALUES} colapsadas, de modo que
+ * un {@code findAllByUserIds} con 3 o con 1000 IDs cuenta como la misma consulta.
+ *
+ * <p>El tiempo va de la ejecución al cierre del resultado, así que en cursores y streams incluye
+ * lo que tarde el consumidor en recorrerlos.
+ */
+@Slf4j
+public class QueryMetricsListener implements ExecuteListener {
+
+    private static final String START = QueryMetricsListener.class.getName() + ".start";
+    private static final String METHOD = QueryMetricsListener.class.getName() + ".method";
+    private static final String ROWS = QueryMetricsListener.class.getName() + ".rows";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\?(?:,\\s*\\?)*\\)");
+    private static final Pattern ROW_LIST = Pattern.compile("\\(\\?\\)(?:,\\s*\\(\\?\\))+");
+    private static final Pattern TABLE = Pattern.compile(
+            "(?i)\\b(?:from|into|update)\\s+(?:`[^`]+`\\.)?`([^`]+)`");
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryThresholdNanos;
+    private final int maxQueryShapes;
+    private final Map<MeterKey, QueryMeters> meters = new ConcurrentHashMap<>();
+
+    public QueryMetricsListener(MeterRegistry meterRegistry, QueryMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThresholdNanos = properties.getSlowQueryThreshold().toNanos();
+        this.maxQueryShapes = properties.getMaxQueryShapes();
+    }
+
+    @Override
+    public void executeStart(ExecuteContext context) {
+        context.data(METHOD, RepositoryMethodContext.current());
+        context.data(START, System.nanoTime());
+    }
+
+    @Override
+    public void recordEnd(ExecuteContext context) {
+        long[] rows = (long[]) context.data(ROWS);
+        if (rows == null) {
+            context.data(ROWS, new long[]{1});
+        } else {
+            rows[0]++;
+        }
+    }
+
+    @Override
+    public void end(ExecuteContext context) {
+        Long start = (Long) context.data(START);
+        String sql = sql(context);
+        if (start == null || sql == null) {
+            return;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        String method = (String) context.data(METHOD);
+        String redacted = STRING_LITERAL.matcher(sql).replaceAll("?");
+
+        QueryMeters queryMeters = meters(shapeOf(redacted), method);
+        if (queryMeters != null) {
+            queryMeters.timer().record(elapsed, TimeUnit.NANOSECONDS);
+            if (context.type() == ExecuteType.READ) {
+                long[] rows = (long[]) context.data(ROWS);
+                queryMeters.rows().record(rows != null ? rows[0] : 0);
+            }
+        }
+
+        if (elapsed >= slowQueryThresholdNanos) {
+            log.warn("Consulta lenta ({} ms) desde {}: {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), method, redacted);
+        }
+    }
+
+    private QueryMeters meters(String shape, String method) {
+        MeterKey key = new MeterKey(shape, method);
+        QueryMeters existing = meters.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (meters.size() >= maxQueryShapes) {
+            return null;
+        }
+        return meters.computeIfAbsent(key, this::register);
+    }
+
+    private QueryMeters register(MeterKey key) {
+        Tags tags = Tags.of("query", key.shape(), "table", tableOf(key.shape()), "method", key.method());
+        if (meters.size() + 1 == maxQueryShapes) {
+            log.warn("Alcanzado el tope de {} formas de consulta con métrica propia; las nuevas no se medirán",
+                    maxQueryShapes);
+        }
+        return new QueryMeters(
+                Timer.builder("db.query")
+                        .description("Duración de las sentencias SQL por forma de consulta")
+                        .tags(tags)
+                        .register(meterRegistry),
+                DistributionSummary.builder("db.query.rows")
+                        .description("Filas leídas por ejecución de una consulta")
+                        .baseUnit("rows")
+                        .tags(tags)
+                        .register(meterRegistry));
+    }
+
+    private static String sql(ExecuteContext context) {
+        if (context.sql() != null) {
+            return context.sql();
+        }
+        String[] batch = context.batchSQL();
+        return batch.length > 0 ? batch[0] : null;
+    }
+
+    static String shapeOf(String sql) {
+        String shape = PARAMETER_LIST.matcher(sql).replaceAll("(?)");
+        return ROW_LIST.matcher(shape).replaceAll("(?)");
+    }
+
+    static String tableOf(String sql) {
+        Matcher matcher = TABLE.matcher(sql);
+        return matcher.find() ? matcher.group(1) : RepositoryMethodContext.NONE;
+    }
+
+    private record MeterKey(String shape, String method) {
+    }
+
+    private record QueryMeters(Timer timer, DistributionSummary rows) {
+    }
+}
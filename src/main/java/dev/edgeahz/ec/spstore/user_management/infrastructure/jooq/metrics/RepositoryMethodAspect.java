@@ -0,0 +1,31 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Anota el hilo con {@code Clase.método} mientras se ejecuta un repositorio jOOQ. Cuando un
+ * repositorio llama a otro (p. ej. la carga de relaciones del usuario) gana el más interno, que
+ * es el que emite la consulta.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "user-management.query-metrics", name = "enabled", matchIfMissing = true)
+public class RepositoryMethodAspect {
+
+    @Around("within(dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository..*)"
+            + " && @within(org.springframework.stereotype.Repository)")
+    public Object tagRepositoryMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        String previous = RepositoryMethodContext.enter(method);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RepositoryMethodContext.restore(previous);
+        }
+    }
+}
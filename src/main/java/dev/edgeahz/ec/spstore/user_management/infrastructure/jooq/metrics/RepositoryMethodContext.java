@@ -0,0 +1,37 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.metrics;
+
+/**
+ * Método de repositorio que se está ejecutando en el hilo actual, para etiquetar las consultas
+ * que emite. Las consultas lanzadas fuera de un repositorio quedan como {@value #NONE}.
+ */
+final class RepositoryMethodContext {
+
+    static final String NONE = "none";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private RepositoryMethodContext() {
+    }
+
+    static String current() {
+        String method = CURRENT.get();
+        return method != null ? method : NONE;
+    }
+
+    /**
+     * Fija el método actual y devuelve el anterior, que debe restaurarse con {@link #restore}.
+     */
+    static String enter(String method) {
+        String previous = CURRENT.get();
+        CURRENT.set(method);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
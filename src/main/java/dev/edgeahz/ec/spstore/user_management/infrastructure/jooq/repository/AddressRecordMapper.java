@@ -0,0 +1,58 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
+
+import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.Tables;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de {@code addresses} a {@link Address}. Lee las columnas por la posición que tienen en la
+ * tabla generada, resuelta una sola vez, y asigna los valores sin pasar por el builder.
+ */
+final class AddressRecordMapper implements RecordMapper<Record, Address> {
+
+    static final AddressRecordMapper INSTANCE = new AddressRecordMapper();
+
+    private static final int ID = Tables.ADDRESSES.indexOf(Tables.ADDRESSES.ID);
+    private static final int USER_ID = Tables.ADDRESSES.indexOf(Tables.ADDRESSES.USER_ID);
+    private static final int STREET = Tables.ADDRESSES.indexOf(Tables.ADDRESSES.STREET);
+    private static final int CITY = Tables.ADDRESSES.indexOf(Tables.ADDRESSES.CITY);
+    private static final int STATE = Tables.ADDRESSES.indexOf(Tables.ADDRESSES.STATE);
+    private static final int COUNTRY = Tables.ADDRESSES.indexOf(Tables.ADDRESSES.COUNTRY);
+    private static final int ZIP_CODE = Tables.ADDRESSES.indexOf(Tables.ADDRESSES.ZIP_CODE);
+    private static final int IS_DEFAULT = Tables.ADDRESSES.indexOf(Tables.ADDRESSES.IS_DEFAULT);
+    private static final int LABEL = Tables.ADDRESSES.indexOf(Tables.ADDRESSES.LABEL);
+    private static final int CREATED_BY = Tables.ADDRESSES.indexOf(Tables.ADDRESSES.CREATED_BY);
+    private static final int UPDATED_BY = Tables.ADDRESSES.indexOf(Tables.ADDRESSES.UPDATED_BY);
+    private static final int CREATED_AT = Tables.ADDRESSES.indexOf(Tables.ADDRESSES.CREATED_AT);
+    private static final int UPDATED_AT = Tables.ADDRESSES.indexOf(Tables.ADDRESSES.UPDATED_AT);
+    private static final int VERSION = Tables.ADDRESSES.indexOf(Tables.ADDRESSES.VERSION);
+
+    private AddressRecordMapper() {
+    }
+
+    @Override
+    public Address map(Record record) {
+        Address address = new Address();
+        address.setId((Long) record.get(ID));
+        address.setUserId((Long) record.get(USER_ID));
+        address.setStreet((String) record.get(STREET));
+        address.setCity((String) record.get(CITY));
+        address.setState((String) record.get(STATE));
+        address.setCountry((String) record.get(COUNTRY));
+        address.setZipCode((String) record.get(ZIP_CODE));
+        Byte isDefault = (Byte) record.get(IS_DEFAULT);
+        address.setDefault(isDefault != null && isDefault == 1);
+        address.setLabel((String) record.get(LABEL));
+        address.setCreatedBy((String) record.get(CREATED_BY));
+        address.setUpdatedBy((String) record.get(UPDATED_BY));
+        address.setCreatedAt(JooqTimestamps.toInstant((LocalDateTime) record.get(CREATED_AT)));
+        address.setUpdatedAt(JooqTimestamps.toInstant((LocalDateTime) record.get(UPDATED_AT)));
+        address.setVersion((Long) record.get(VERSION));
+        // El modelo leído empieza a registrar cambios: un save posterior escribe solo las columnas modificadas
+        address.trackChanges();
+        return address;
+    }
+}
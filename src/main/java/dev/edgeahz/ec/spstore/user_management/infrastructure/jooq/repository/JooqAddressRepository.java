@@ -1,124 +1,214 @@
 package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
 
 import dev.edgeahz.ec.spstore.user_management.application.port.output.AddressRepository;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ConcurrentUpdateException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.DatabaseOperationException;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ResourceNotFoundException;
 import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
 import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.Tables;
-import lombok.RequiredArgsConstructor;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.tables.records.AddressesRecord;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.InsertSetMoreStep;
+import org.jooq.InsertSetStep;
+import org.jooq.UpdateSetMoreStep;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 
-import java.time.ZoneOffset;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Repository
-@RequiredArgsConstructor
 public class JooqAddressRepository implements AddressRepository {
 
     private final DSLContext dsl;
+    private final RenderedQuery<AddressesRecord> byUserId;
+    private final RenderedQuery<AddressesRecord> byId;
+    private final RenderedQuery<AddressesRecord> byIdAndUserId;
+
+    public JooqAddressRepository(DSLContext dsl) {
+        this.dsl = dsl;
+        this.byUserId = new RenderedQuery<>(dsl, Tables.ADDRESSES, Tables.ADDRESSES.USER_ID.eq(DSL.param("userId", Long.class)));
+        this.byId = new RenderedQuery<>(dsl, Tables.ADDRESSES, Tables.ADDRESSES.ID.eq(DSL.param("id", Long.class)));
+        this.byIdAndUserId = new RenderedQuery<>(dsl, Tables.ADDRESSES, Tables.ADDRESSES.ID.eq(DSL.param("id", Long.class))
+                .and(Tables.ADDRESSES.USER_ID.eq(DSL.param("userId", Long.class))));
+    }
 
     @Override
     public List<Address> findAllByUserId(Long userId) {
+        return byUserId.fetch(userId)
+                .stream()
+                .map(AddressRecordMapper.INSTANCE::map)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public Map<Long, List<Address>> findAllByUserIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+
         return dsl.selectFrom(Tables.ADDRESSES)
-                .where(Tables.ADDRESSES.USER_ID.eq(userId))
+                .where(Tables.ADDRESSES.USER_ID.in(userIds))
                 .fetch()
                 .stream()
-                .map(record -> Address.builder()
-                        .id(record.getId())
-                        .userId(record.getUserId())
-                        .street(record.getStreet())
-                        .city(record.getCity())
-                        .state(record.getState())
-                        .country(record.getCountry())
-                        .zipCode(record.getZipCode())
-                        .isDefault(record.getIsDefault() != null && record.getIsDefault() == 1)
-                        .label(record.getLabel())
-                        .createdBy(record.getCreatedBy())
-                        .updatedBy(record.getUpdatedBy())
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                ).collect(Collectors.toUnmodifiableList());
+                .map(AddressRecordMapper.INSTANCE::map)
+                .collect(Collectors.groupingBy(Address::getUserId, Collectors.toUnmodifiableList()));
     }
 
     @Override
     public Optional<Address> findById(Long id) {
-        return dsl.selectFrom(Tables.ADDRESSES)
-                .where(Tables.ADDRESSES.ID.eq(id))
-                .fetchOptional()
-                .map(record -> Address.builder()
-                        .id(record.getId())
-                        .userId(record.getUserId())
-                        .street(record.getStreet())
-                        .city(record.getCity())
-                        .state(record.getState())
-                        .country(record.getCountry())
-                        .zipCode(record.getZipCode())
-                        .isDefault(record.getIsDefault() != null && record.getIsDefault() == 1)
-                        .label(record.getLabel())
-                        .createdBy(record.getCreatedBy())
-                        .updatedBy(record.getUpdatedBy())
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                );
+        return byId.fetchOptional(id)
+                .map(AddressRecordMapper.INSTANCE::map);
     }
 
     @Override
     public Optional<Address> findByIdAndUserId(Long id, Long userId) {
-        return dsl.selectFrom(Tables.ADDRESSES)
-                .where(Tables.ADDRESSES.ID.eq(id))
-                .and(Tables.ADDRESSES.USER_ID.eq(userId))
-                .fetchOptional()
-                .map(record -> Address.builder()
-                        .id(record.getId())
-                        .userId(record.getUserId())
-                        .street(record.getStreet())
-                        .city(record.getCity())
-                        .state(record.getState())
-                        .country(record.getCountry())
-                        .zipCode(record.getZipCode())
-                        .isDefault(record.getIsDefault() != null && record.getIsDefault() == 1)
-                        .label(record.getLabel())
-                        .createdBy(record.getCreatedBy())
-                        .updatedBy(record.getUpdatedBy())
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                );
+        return byIdAndUserId.fetchOptional(id, userId)
+                .map(AddressRecordMapper.INSTANCE::map);
     }
 
     @Override
     public Address save(Address address) {
-        return Optional.ofNullable(dsl.insertInto(Tables.ADDRESSES)
-                        .set(Tables.ADDRESSES.USER_ID, address.getUserId())
-                        .set(Tables.ADDRESSES.STREET, address.getStreet())
-                        .set(Tables.ADDRESSES.CITY, address.getCity())
-                        .set(Tables.ADDRESSES.STATE, address.getState())
-                        .set(Tables.ADDRESSES.COUNTRY, address.getCountry())
-                        .set(Tables.ADDRESSES.ZIP_CODE, address.getZipCode())
-                        .set(Tables.ADDRESSES.IS_DEFAULT, (byte) (address.isDefault() ? 1 : 0))
-                        .set(Tables.ADDRESSES.LABEL, address.getLabel())
-                        .returning(Tables.ADDRESSES.ID)
-                        .fetchOne())
-                .map(record -> Address.builder()
-                        .id(record.getId())
-                        .userId(record.getUserId())
-                        .street(record.getStreet())
-                        .city(record.getCity())
-                        .state(record.getState())
-                        .country(record.getCountry())
-                        .zipCode(record.getZipCode())
-                        .isDefault(record.getIsDefault() != null && record.getIsDefault() == 1)
-                        .label(record.getLabel())
-                        .createdBy(record.getCreatedBy())
-                        .updatedBy(record.getUpdatedBy())
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                ).orElseThrow(() -> DatabaseOperationException.saveFailed("Address"));
+        if (address.getId() == null) {
+            return Optional.ofNullable(dsl.insertInto(Tables.ADDRESSES)
+                            .set(Tables.ADDRESSES.USER_ID, address.getUserId())
+                            .set(Tables.ADDRESSES.STREET, address.getStreet())
+                            .set(Tables.ADDRESSES.CITY, address.getCity())
+                            .set(Tables.ADDRESSES.STATE, address.getState())
+                            .set(Tables.ADDRESSES.COUNTRY, address.getCountry())
+                            .set(Tables.ADDRESSES.ZIP_CODE, address.getZipCode())
+                            .set(Tables.ADDRESSES.IS_DEFAULT, (byte) (address.isDefault() ? 1 : 0))
+                            .set(Tables.ADDRESSES.LABEL, address.getLabel())
+                            .set(Tables.ADDRESSES.CREATED_BY, address.getCreatedBy())
+                            .returning()
+                            .fetchOne())
+                    .map(AddressRecordMapper.INSTANCE::map)
+                    .orElseThrow(() -> DatabaseOperationException.saveFailed("Address"));
+        }
+
+        // Un solo UPDATE condicionado a la versión, sin leer antes ni bloquear la fila. Una dirección
+        // leída del repositorio escribe solo las columnas modificadas; una construida a partir de la
+        // petición las reemplaza todas
+        Set<Address.Attribute> changed = address.changedAttributes();
+        Condition target = Tables.ADDRESSES.ID.eq(address.getId())
+                .and(address.getUserId() == null ? DSL.noCondition() : Tables.ADDRESSES.USER_ID.eq(address.getUserId()));
+        if (changed.isEmpty()) {
+            // Sin UPDATE, pero la versión indicada se sigue comprobando, como en JooqUserRepository
+            if (address.getVersion() != null
+                    && !dsl.fetchExists(Tables.ADDRESSES, target.and(Tables.ADDRESSES.VERSION.eq(address.getVersion())))) {
+                throw dsl.fetchExists(Tables.ADDRESSES, target)
+                        ? new ConcurrentUpdateException("Address", address.getId())
+                        : new ResourceNotFoundException("Address", address.getId());
+            }
+            return address;
+        }
+
+        Instant now = JooqTimestamps.now();
+        UpdateSetMoreStep<AddressesRecord> update = dsl.update(Tables.ADDRESSES)
+                .set(Tables.ADDRESSES.UPDATED_BY, address.getUpdatedBy())
+                .set(Tables.ADDRESSES.UPDATED_AT, JooqTimestamps.toUtc(now))
+                .set(Tables.ADDRESSES.VERSION, Tables.ADDRESSES.VERSION.plus(1));
+        for (Address.Attribute attribute : changed) {
+            update = switch (attribute) {
+                case STREET -> update.set(Tables.ADDRESSES.STREET, address.getStreet());
+                case CITY -> update.set(Tables.ADDRESSES.CITY, address.getCity());
+                case STATE -> update.set(Tables.ADDRESSES.STATE, address.getState());
+                case COUNTRY -> update.set(Tables.ADDRESSES.COUNTRY, address.getCountry());
+                case ZIP_CODE -> update.set(Tables.ADDRESSES.ZIP_CODE, address.getZipCode());
+                case IS_DEFAULT -> update.set(Tables.ADDRESSES.IS_DEFAULT, (byte) (address.isDefault() ? 1 : 0));
+                case LABEL -> update.set(Tables.ADDRESSES.LABEL, address.getLabel());
+            };
+        }
+
+        int updated = update.where(target)
+                .and(address.getVersion() == null ? DSL.noCondition() : Tables.ADDRESSES.VERSION.eq(address.getVersion()))
+                .execute();
+
+        if (updated == 0) {
+            // Solo en el caso de fallo se consulta por qué: la fila no existe o cambió de versión
+            throw dsl.fetchExists(Tables.ADDRESSES, target)
+                    ? new ConcurrentUpdateException("Address", address.getId())
+                    : new ResourceNotFoundException("Address", address.getId());
+        }
+        address.setUpdatedAt(now);
+        if (address.getVersion() != null) {
+            address.setVersion(address.getVersion() + 1);
+        }
+        address.trackChanges();
+        return address;
+    }
+
+    @Override
+    public int unsetDefault(Long userId, Long exceptId) {
+        // Una sola sentencia para todo el conjunto en lugar de leer y guardar cada fila. La versión
+        // sube como en cualquier otro UPDATE: quien tenga la representación anterior recibe un 409.
+        // El registro que se promueve queda fuera, así su propia comprobación de versión no choca
+        return dsl.update(Tables.ADDRESSES)
+                .set(Tables.ADDRESSES.IS_DEFAULT, (byte) 0)
+                .set(Tables.ADDRESSES.UPDATED_AT, JooqTimestamps.toUtc(JooqTimestamps.now()))
+                .set(Tables.ADDRESSES.VERSION, Tables.ADDRESSES.VERSION.plus(1))
+                .where(Tables.ADDRESSES.USER_ID.eq(userId))
+                .and(Tables.ADDRESSES.IS_DEFAULT.eq((byte) 1))
+                .and(exceptId == null ? DSL.noCondition() : Tables.ADDRESSES.ID.ne(exceptId))
+                .execute();
+    }
+
+    @Override
+    public void insertAll(List<Address> addresses) {
+        if (addresses.isEmpty()) {
+            return;
+        }
+
+        // Una sola sentencia INSERT de varias filas por bloque
+        InsertSetStep<AddressesRecord> next = dsl.insertInto(Tables.ADDRESSES);
+        InsertSetMoreStep<AddressesRecord> insert = null;
+        for (Address address : addresses) {
+            insert = next.set(Tables.ADDRESSES.USER_ID, address.getUserId())
+                    .set(Tables.ADDRESSES.STREET, address.getStreet())
+                    .set(Tables.ADDRESSES.CITY, address.getCity())
+                    .set(Tables.ADDRESSES.STATE, address.getState())
+                    .set(Tables.ADDRESSES.COUNTRY, address.getCountry())
+                    .set(Tables.ADDRESSES.ZIP_CODE, address.getZipCode())
+                    .set(Tables.ADDRESSES.IS_DEFAULT, (byte) (address.isDefault() ? 1 : 0))
+                    .set(Tables.ADDRESSES.LABEL, address.getLabel())
+                    .set(Tables.ADDRESSES.CREATED_BY, address.getCreatedBy())
+                    .set(Tables.ADDRESSES.UPDATED_BY, address.getUpdatedBy())
+                    .set(Tables.ADDRESSES.CREATED_AT, JooqTimestamps.valueOrNow(address.getCreatedAt()))
+                    .set(Tables.ADDRESSES.UPDATED_AT, JooqTimestamps.valueOrNow(address.getUpdatedAt()));
+            next = insert.newRecord();
+        }
+        insert.execute();
+    }
+
+    @Override
+    public List<Address> insertAllForNewUser(Long userId, List<Address> addresses) {
+        if (addresses.isEmpty()) {
+            return addresses;
+        }
+
+        insertAll(addresses);
+
+        // El usuario se creó en esta misma transacción: sus únicas filas son las recién insertadas,
+        // y los IDs autoincrementales de un mismo INSERT conservan el orden de las filas
+        List<Long> ids = dsl.select(Tables.ADDRESSES.ID)
+                .from(Tables.ADDRESSES)
+                .where(Tables.ADDRESSES.USER_ID.eq(userId))
+                .orderBy(Tables.ADDRESSES.ID)
+                .fetch(Tables.ADDRESSES.ID);
+        if (ids.size() != addresses.size()) {
+            throw DatabaseOperationException.saveFailed("Address");
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            addresses.get(i).setId(ids.get(i));
+            addresses.get(i).setVersion(0L);
+        }
+        return addresses;
     }
 
     @Override
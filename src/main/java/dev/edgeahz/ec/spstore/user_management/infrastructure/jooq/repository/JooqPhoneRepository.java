@@ -1,101 +1,199 @@
 package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
 
 import dev.edgeahz.ec.spstore.user_management.application.port.output.PhoneRepository;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ConcurrentUpdateException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.DatabaseOperationException;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ResourceNotFoundException;
 import dev.edgeahz.ec.spstore.user_management.domain.model.Phone;
 import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.Tables;
-import lombok.RequiredArgsConstructor;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.tables.records.PhonesRecord;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.InsertSetMoreStep;
+import org.jooq.InsertSetStep;
+import org.jooq.UpdateSetMoreStep;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 
-import java.time.ZoneOffset;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Repository
-@RequiredArgsConstructor
 public class JooqPhoneRepository implements PhoneRepository {
 
     private final DSLContext dsl;
+    private final RenderedQuery<PhonesRecord> byUserId;
+    private final RenderedQuery<PhonesRecord> byId;
+    private final RenderedQuery<PhonesRecord> byIdAndUserId;
+
+    public JooqPhoneRepository(DSLContext dsl) {
+        this.dsl = dsl;
+        this.byUserId = new RenderedQuery<>(dsl, Tables.PHONES, Tables.PHONES.USER_ID.eq(DSL.param("userId", Long.class)));
+        this.byId = new RenderedQuery<>(dsl, Tables.PHONES, Tables.PHONES.ID.eq(DSL.param("id", Long.class)));
+        this.byIdAndUserId = new RenderedQuery<>(dsl, Tables.PHONES, Tables.PHONES.ID.eq(DSL.param("id", Long.class))
+                .and(Tables.PHONES.USER_ID.eq(DSL.param("userId", Long.class))));
+    }
 
     @Override
     public List<Phone> findAllByUserId(Long userId) {
+        return byUserId.fetch(userId)
+                .stream()
+                .map(PhoneRecordMapper.INSTANCE::map)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public Map<Long, List<Phone>> findAllByUserIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+
         return dsl.selectFrom(Tables.PHONES)
-                .where(Tables.PHONES.USER_ID.eq(userId))
+                .where(Tables.PHONES.USER_ID.in(userIds))
                 .fetch()
                 .stream()
-                .map(record -> Phone.builder()
-                        .id(record.getId())
-                        .userId(record.getUserId())
-                        .type(Phone.PhoneType.valueOf(record.getType().name()))
-                        .countryCode(record.getCountryCode())
-                        .number(record.getNumber())
-                        .isDefault(record.getIsDefault() != null && record.getIsDefault() == 1)
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                ).collect(Collectors.toUnmodifiableList());
+                .map(PhoneRecordMapper.INSTANCE::map)
+                .collect(Collectors.groupingBy(Phone::getUserId, Collectors.toUnmodifiableList()));
     }
 
     @Override
     public Optional<Phone> findById(Long id) {
-        return dsl.selectFrom(Tables.PHONES)
-                .where(Tables.PHONES.ID.eq(id))
-                .fetchOptional()
-                .map(record -> Phone.builder()
-                        .id(record.getId())
-                        .userId(record.getUserId())
-                        .type(Phone.PhoneType.valueOf(record.getType().name()))
-                        .countryCode(record.getCountryCode())
-                        .number(record.getNumber())
-                        .isDefault(record.getIsDefault() != null && record.getIsDefault() == 1)
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                );
+        return byId.fetchOptional(id)
+                .map(PhoneRecordMapper.INSTANCE::map);
     }
 
     @Override
     public Optional<Phone> findByIdAndUserId(Long id, Long userId) {
-        return dsl.selectFrom(Tables.PHONES)
-                .where(Tables.PHONES.ID.eq(id))
-                .and(Tables.PHONES.USER_ID.eq(userId))
-                .fetchOptional()
-                .map(record -> Phone.builder()
-                        .id(record.getId())
-                        .userId(record.getUserId())
-                        .type(Phone.PhoneType.valueOf(record.getType().name()))
-                        .countryCode(record.getCountryCode())
-                        .number(record.getNumber())
-                        .isDefault(record.getIsDefault() != null && record.getIsDefault() == 1)
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                );
+        return byIdAndUserId.fetchOptional(id, userId)
+                .map(PhoneRecordMapper.INSTANCE::map);
     }
 
     @Override
     public Phone save(Phone phone) {
-        return Optional.ofNullable(dsl.insertInto(Tables.PHONES)
-                        .set(Tables.PHONES.USER_ID, phone.getUserId())
-                        .set(Tables.PHONES.TYPE, Tables.PHONES.TYPE.getDataType().convert(phone.getType().name()))
-                        .set(Tables.PHONES.COUNTRY_CODE, phone.getCountryCode())
-                        .set(Tables.PHONES.NUMBER, phone.getNumber())
-                        .set(Tables.PHONES.IS_DEFAULT, (byte) (phone.isDefault() ? 1 : 0))
-                        .returning()
-                        .fetchOne()
-                ).map(record -> Phone.builder()
-                        .id(record.getId())
-                        .userId(record.getUserId())
-                        .type(Phone.PhoneType.valueOf(record.getType().name()))
-                        .countryCode(record.getCountryCode())
-                        .number(record.getNumber())
-                        .isDefault(record.getIsDefault() != null && record.getIsDefault() == 1)
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                ).orElseThrow(() -> DatabaseOperationException.saveFailed("Phones"));
+        if (phone.getId() == null) {
+            return Optional.ofNullable(dsl.insertInto(Tables.PHONES)
+                            .set(Tables.PHONES.USER_ID, phone.getUserId())
+                            .set(Tables.PHONES.TYPE, Tables.PHONES.TYPE.getDataType().convert(phone.getType().name()))
+                            .set(Tables.PHONES.COUNTRY_CODE, phone.getCountryCode())
+                            .set(Tables.PHONES.NUMBER, phone.getNumber())
+                            .set(Tables.PHONES.IS_DEFAULT, (byte) (phone.isDefault() ? 1 : 0))
+                            .returning()
+                            .fetchOne()
+                    ).map(PhoneRecordMapper.INSTANCE::map)
+                    .orElseThrow(() -> DatabaseOperationException.saveFailed("Phones"));
+        }
+
+        Set<Phone.Attribute> changed = phone.changedAttributes();
+        Condition target = Tables.PHONES.ID.eq(phone.getId())
+                .and(phone.getUserId() == null ? DSL.noCondition() : Tables.PHONES.USER_ID.eq(phone.getUserId()));
+        if (changed.isEmpty()) {
+            // Sin UPDATE, pero la versión indicada se sigue comprobando, como en JooqUserRepository
+            if (phone.getVersion() != null
+                    && !dsl.fetchExists(Tables.PHONES, target.and(Tables.PHONES.VERSION.eq(phone.getVersion())))) {
+                throw dsl.fetchExists(Tables.PHONES, target)
+                        ? new ConcurrentUpdateException("Phone", phone.getId())
+                        : new ResourceNotFoundException("Phone", phone.getId());
+            }
+            return phone;
+        }
+
+        Instant now = JooqTimestamps.now();
+        UpdateSetMoreStep<PhonesRecord> update = dsl.update(Tables.PHONES)
+                .set(Tables.PHONES.UPDATED_AT, JooqTimestamps.toUtc(now))
+                .set(Tables.PHONES.VERSION, Tables.PHONES.VERSION.plus(1));
+        for (Phone.Attribute attribute : changed) {
+            update = switch (attribute) {
+                case NUMBER -> update.set(Tables.PHONES.NUMBER, phone.getNumber());
+                case COUNTRY_CODE -> update.set(Tables.PHONES.COUNTRY_CODE, phone.getCountryCode());
+                case TYPE -> update.set(Tables.PHONES.TYPE, Tables.PHONES.TYPE.getDataType().convert(phone.getType().name()));
+                case IS_DEFAULT -> update.set(Tables.PHONES.IS_DEFAULT, (byte) (phone.isDefault() ? 1 : 0));
+            };
+        }
+
+        int updated = update.where(target)
+                .and(phone.getVersion() == null ? DSL.noCondition() : Tables.PHONES.VERSION.eq(phone.getVersion()))
+                .execute();
+
+        if (updated == 0) {
+            throw dsl.fetchExists(Tables.PHONES, target)
+                    ? new ConcurrentUpdateException("Phone", phone.getId())
+                    : new ResourceNotFoundException("Phone", phone.getId());
+        }
+        phone.setUpdatedAt(now);
+        if (phone.getVersion() != null) {
+            phone.setVersion(phone.getVersion() + 1);
+        }
+        phone.trackChanges();
+        return phone;
+    }
+
+    @Override
+    public int unsetDefault(Long userId, Long exceptId) {
+        // Una sola sentencia para todo el conjunto en lugar de leer y guardar cada fila. La versión
+        // sube como en cualquier otro UPDATE: quien tenga la representación anterior recibe un 409.
+        // El registro que se promueve queda fuera, así su propia comprobación de versión no choca
+        return dsl.update(Tables.PHONES)
+                .set(Tables.PHONES.IS_DEFAULT, (byte) 0)
+                .set(Tables.PHONES.UPDATED_AT, JooqTimestamps.toUtc(JooqTimestamps.now()))
+                .set(Tables.PHONES.VERSION, Tables.PHONES.VERSION.plus(1))
+                .where(Tables.PHONES.USER_ID.eq(userId))
+                .and(Tables.PHONES.IS_DEFAULT.eq((byte) 1))
+                .and(exceptId == null ? DSL.noCondition() : Tables.PHONES.ID.ne(exceptId))
+                .execute();
+    }
+
+    @Override
+    public void insertAll(List<Phone> phones) {
+        if (phones.isEmpty()) {
+            return;
+        }
+
+        // Una sola sentencia INSERT de varias filas por bloque
+        InsertSetStep<PhonesRecord> next = dsl.insertInto(Tables.PHONES);
+        InsertSetMoreStep<PhonesRecord> insert = null;
+        for (Phone phone : phones) {
+            insert = next.set(Tables.PHONES.USER_ID, phone.getUserId())
+                    .set(Tables.PHONES.TYPE, Tables.PHONES.TYPE.getDataType().convert(phone.getType().name()))
+                    .set(Tables.PHONES.COUNTRY_CODE, phone.getCountryCode())
+                    .set(Tables.PHONES.NUMBER, phone.getNumber())
+                    .set(Tables.PHONES.IS_DEFAULT, (byte) (phone.isDefault() ? 1 : 0))
+                    .set(Tables.PHONES.CREATED_BY, phone.getCreatedBy())
+                    .set(Tables.PHONES.UPDATED_BY, phone.getUpdatedBy())
+                    .set(Tables.PHONES.CREATED_AT, JooqTimestamps.valueOrNow(phone.getCreatedAt()))
+                    .set(Tables.PHONES.UPDATED_AT, JooqTimestamps.valueOrNow(phone.getUpdatedAt()));
+            next = insert.newRecord();
+        }
+        insert.execute();
+    }
+
+    @Override
+    public List<Phone> insertAllForNewUser(Long userId, List<Phone> phones) {
+        if (phones.isEmpty()) {
+            return phones;
+        }
+
+        insertAll(phones);
+
+        // El usuario se creó en esta misma transacción: sus únicas filas son las recién insertadas,
+        // y los IDs autoincrementales de un mismo INSERT conservan el orden de las filas
+        List<Long> ids = dsl.select(Tables.PHONES.ID)
+                .from(Tables.PHONES)
+                .where(Tables.PHONES.USER_ID.eq(userId))
+                .orderBy(Tables.PHONES.ID)
+                .fetch(Tables.PHONES.ID);
+        if (ids.size() != phones.size()) {
+            throw DatabaseOperationException.saveFailed("Phone");
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            phones.get(i).setId(ids.get(i));
+            phones.get(i).setVersion(0L);
+        }
+        return phones;
     }
 
     @Override
@@ -2,98 +2,105 @@ package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
 
 import dev.edgeahz.ec.spstore.user_management.application.port.output.RoleRepository;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.DatabaseOperationException;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ResourceNotFoundException;
 import dev.edgeahz.ec.spstore.user_management.domain.model.Role;
 import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.Tables;
-import lombok.RequiredArgsConstructor;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.tables.records.RolesRecord;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.tables.records.UserRolesRecord;
 import org.jooq.DSLContext;
+import org.jooq.InsertSetMoreStep;
+import org.jooq.InsertSetStep;
+import org.jooq.UpdateSetMoreStep;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 
-import java.time.ZoneOffset;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Repository
-@RequiredArgsConstructor
 public class JooqRoleRepository implements RoleRepository {
 
+    // En el join con user_roles el ID de usuario va tras las columnas de roles
+    private static final int USER_ROLES_USER_ID = Tables.ROLES.fields().length;
+
     private final DSLContext dsl;
+    private final RenderedQuery<RolesRecord> byId;
+    private final RenderedQuery<RolesRecord> byName;
+
+    public JooqRoleRepository(DSLContext dsl) {
+        this.dsl = dsl;
+        this.byId = new RenderedQuery<>(dsl, Tables.ROLES, Tables.ROLES.ID.eq(DSL.param("id", Long.class)));
+        this.byName = new RenderedQuery<>(dsl, Tables.ROLES, Tables.ROLES.NAME.eq(DSL.param("name", String.class)));
+    }
 
     @Override
     public List<Role> findAll() {
         return dsl.selectFrom(Tables.ROLES)
                 .fetch()
                 .stream()
-                .map(record -> Role.builder()
-                        .id(record.getId())
-                        .name(record.getName())
-                        .description(record.getDescription())
-                        .createdBy(record.getCreatedBy())
-                        .updatedBy(record.getUpdatedBy())
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                ).collect(Collectors.toUnmodifiableList());
+                .map(RoleRecordMapper.INSTANCE::map)
+                .collect(Collectors.toUnmodifiableList());
     }
 
     @Override
     public Optional<Role> findById(Long id) {
-        return dsl.selectFrom(Tables.ROLES)
-                .where(Tables.ROLES.ID.eq(id))
-                .fetchOptional()
-                .map(record -> Role.builder()
-                        .id(record.getId())
-                        .name(record.getName())
-                        .description(record.getDescription())
-                        .createdBy(record.getCreatedBy())
-                        .updatedBy(record.getUpdatedBy())
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                );
+        return byId.fetchOptional(id)
+                .map(RoleRecordMapper.INSTANCE::map);
     }
 
     @Override
     public Optional<Role> findByName(String name) {
-        return dsl.selectFrom(Tables.ROLES)
-                .where(Tables.ROLES.NAME.eq(name))
-                .fetchOptional()
-                .map(record -> Role.builder()
-                        .id(record.getId())
-                        .name(record.getName())
-                        .description(record.getDescription())
-                        .createdBy(record.getCreatedBy())
-                        .updatedBy(record.getUpdatedBy())
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                );
+        return byName.fetchOptional(name)
+                .map(RoleRecordMapper.INSTANCE::map);
     }
 
     @Override
     public Role save(Role role) {
-        return Optional.ofNullable(dsl.insertInto(Tables.ROLES)
-                        .set(Tables.ROLES.NAME, role.getName())
-                        .set(Tables.ROLES.DESCRIPTION, role.getDescription())
-                        .set(Tables.ROLES.CREATED_BY, role.getCreatedBy())
-                        .set(Tables.ROLES.UPDATED_BY, role.getUpdatedBy())
-                        .onDuplicateKeyUpdate()
-                        .set(Tables.ROLES.NAME, role.getName())
-                        .set(Tables.ROLES.DESCRIPTION, role.getDescription())
-                        .set(Tables.ROLES.UPDATED_BY, role.getUpdatedBy())
-                        .set(Tables.ROLES.UPDATED_AT, role.getUpdatedAt().atOffset(ZoneOffset.UTC).toLocalDateTime())
-                        .returning(Tables.ROLES.ID)
-                        .fetchOne())
-                .map(record -> Role.builder()
-                        .id(record.getId())
-                        .name(record.getName())
-                        .description(record.getDescription())
-                        .createdBy(record.getCreatedBy())
-                        .updatedBy(record.getUpdatedBy())
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                ).orElseThrow(() -> DatabaseOperationException.saveFailed("Rol"));
+        if (role.getId() == null) {
+            return Optional.ofNullable(dsl.insertInto(Tables.ROLES)
+                            .set(Tables.ROLES.NAME, role.getName())
+                            .set(Tables.ROLES.DESCRIPTION, role.getDescription())
+                            .set(Tables.ROLES.CREATED_BY, role.getCreatedBy())
+                            .set(Tables.ROLES.UPDATED_BY, role.getUpdatedBy())
+                            .returning()
+                            .fetchOne())
+                    .map(RoleRecordMapper.INSTANCE::map)
+                    .orElseThrow(() -> DatabaseOperationException.saveFailed("Rol"));
+        }
+
+        // UPDATE por ID de las columnas modificadas. Sin cambios solo se comprueba que la fila exista:
+        // roles no tiene columna de versión que verificar
+        Set<Role.Attribute> changed = role.changedAttributes();
+        if (changed.isEmpty()) {
+            if (!dsl.fetchExists(Tables.ROLES, Tables.ROLES.ID.eq(role.getId()))) {
+                throw new ResourceNotFoundException("Role", role.getId());
+            }
+            return role;
+        }
+
+        Instant now = JooqTimestamps.now();
+        UpdateSetMoreStep<RolesRecord> update = dsl.update(Tables.ROLES)
+                .set(Tables.ROLES.UPDATED_BY, role.getUpdatedBy())
+                .set(Tables.ROLES.UPDATED_AT, JooqTimestamps.toUtc(now));
+        for (Role.Attribute attribute : changed) {
+            update = switch (attribute) {
+                case NAME -> update.set(Tables.ROLES.NAME, role.getName());
+                case DESCRIPTION -> update.set(Tables.ROLES.DESCRIPTION, role.getDescription());
+            };
+        }
+
+        if (update.where(Tables.ROLES.ID.eq(role.getId())).execute() == 0) {
+            throw new ResourceNotFoundException("Role", role.getId());
+        }
+        role.setUpdatedAt(now);
+        role.trackChanges();
+        return role;
     }
 
     @Override
@@ -105,23 +112,39 @@ public class JooqRoleRepository implements RoleRepository {
 
     @Override
     public List<Role> findAllByUserId(Long userId) {
-        return dsl.select(Tables.ROLES.asterisk())
+        return dsl.select(Tables.ROLES.fields())
                 .from(Tables.ROLES)
                 .join(Tables.USER_ROLES)
                 .on(Tables.ROLES.ID.eq(Tables.USER_ROLES.ROLE_ID))
                 .where(Tables.USER_ROLES.USER_ID.eq(userId))
                 .fetch()
                 .stream()
-                .map(record -> Role.builder()
-                        .id(record.get(Tables.ROLES.ID))
-                        .name(record.get(Tables.ROLES.NAME))
-                        .description(record.get(Tables.ROLES.DESCRIPTION))
-                        .createdBy(record.get(Tables.ROLES.CREATED_BY))
-                        .updatedBy(record.get(Tables.ROLES.UPDATED_BY))
-                        .createdAt(record.get(Tables.ROLES.CREATED_AT).toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.get(Tables.ROLES.UPDATED_AT).toInstant(ZoneOffset.UTC))
-                        .build()
-                ).collect(Collectors.toUnmodifiableList());
+                .map(RoleRecordMapper.INSTANCE::map)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public Map<Long, List<Role>> findAllByUserIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+
+        // Los roles se repiten entre usuarios: se comparte una sola instancia por rol
+        Map<Long, Role> rolesById = new HashMap<>();
+
+        return dsl.select(Tables.ROLES.fields())
+                .select(Tables.USER_ROLES.USER_ID)
+                .from(Tables.ROLES)
+                .join(Tables.USER_ROLES)
+                .on(Tables.ROLES.ID.eq(Tables.USER_ROLES.ROLE_ID))
+                .where(Tables.USER_ROLES.USER_ID.in(userIds))
+                .fetch()
+                .stream()
+                .collect(Collectors.groupingBy(
+                        record -> (Long) record.get(USER_ROLES_USER_ID),
+                        Collectors.mapping(record -> rolesById.computeIfAbsent((Long) record.get(RoleRecordMapper.ID),
+                                id -> RoleRecordMapper.INSTANCE.map(record)), Collectors.toUnmodifiableList())
+                ));
     }
 
     @Override
@@ -132,6 +155,23 @@ public class JooqRoleRepository implements RoleRepository {
                 .execute();
     }
 
+    @Override
+    public void assignRolesToUsers(Map<Long, ? extends Collection<Long>> roleIdsByUserId) {
+        InsertSetStep<UserRolesRecord> next = dsl.insertInto(Tables.USER_ROLES);
+        InsertSetMoreStep<UserRolesRecord> insert = null;
+        for (Map.Entry<Long, ? extends Collection<Long>> entry : roleIdsByUserId.entrySet()) {
+            for (Long roleId : entry.getValue()) {
+                insert = next.set(Tables.USER_ROLES.USER_ID, entry.getKey())
+                        .set(Tables.USER_ROLES.ROLE_ID, roleId);
+                next = insert.newRecord();
+            }
+        }
+
+        if (insert != null) {
+            insert.execute();
+        }
+    }
+
     @Override
     public void removeRoleFromUser(Long userId, Long roleId) {
         dsl.deleteFrom(Tables.USER_ROLES)
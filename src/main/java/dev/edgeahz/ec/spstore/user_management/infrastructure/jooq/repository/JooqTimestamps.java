@@ -0,0 +1,38 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
+
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Conversión entre las marcas de tiempo del dominio ({@link Instant}) y las columnas
+ * {@code TIMESTAMP}, que se guardan en UTC.
+ */
+final class JooqTimestamps {
+
+    private JooqTimestamps() {
+    }
+
+    static LocalDateTime toUtc(Instant instant) {
+        return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    static Instant toInstant(LocalDateTime value) {
+        return value == null ? null : value.toInstant(ZoneOffset.UTC);
+    }
+
+    // TIMESTAMP(6): las ETag se derivan de updated_at y dos escrituras en el mismo segundo deben distinguirse
+    static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    // En inserciones de varias filas todas deben llevar las mismas columnas. Sin valor se usa la hora
+    // de la aplicación: CURRENT_TIMESTAMP sin precisión explícita solo da segundos en MySQL
+    static Field<LocalDateTime> valueOrNow(Instant instant) {
+        return DSL.val(toUtc(instant == null ? now() : instant));
+    }
+}
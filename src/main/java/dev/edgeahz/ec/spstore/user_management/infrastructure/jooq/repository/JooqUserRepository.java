@@ -1,168 +1,244 @@
 package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
 
 import dev.edgeahz.ec.spstore.user_management.application.port.output.UserRepository;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ConcurrentUpdateException;
 import dev.edgeahz.ec.spstore.user_management.domain.exception.DatabaseOperationException;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ResourceNotFoundException;
 import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserCursor;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserFetchPlan;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserSort;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserVersion;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Versioned;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.config.UserExportProperties;
 import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.Tables;
-import lombok.RequiredArgsConstructor;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.tables.records.UsersRecord;
+import org.jooq.Cursor;
 import org.jooq.DSLContext;
+import org.jooq.InsertSetMoreStep;
+import org.jooq.InsertSetStep;
+import org.jooq.Record2;
+import org.jooq.Record8;
+import org.jooq.SelectSeekStep1;
+import org.jooq.SelectSeekStep2;
+import org.jooq.UpdateSetMoreStep;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @Repository
-@RequiredArgsConstructor
 public class JooqUserRepository implements UserRepository {
 
     private final DSLContext dsl;
-    private final JooqRoleRepository roleRepository;
-    private final JooqAddressRepository addressRepository;
-    private final JooqPhoneRepository phoneRepository;
+    private final UserAggregateLoader aggregateLoader;
+    private final UserExportProperties exportProperties;
+    private final RenderedQuery<UsersRecord> byId;
+    private final RenderedQuery<UsersRecord> byUsername;
+    private final RenderedQuery<UsersRecord> byEmail;
+
+    public JooqUserRepository(DSLContext dsl, UserAggregateLoader aggregateLoader, UserExportProperties exportProperties) {
+        this.dsl = dsl;
+        this.aggregateLoader = aggregateLoader;
+        this.exportProperties = exportProperties;
+        this.byId = new RenderedQuery<>(dsl, Tables.USERS, Tables.USERS.ID.eq(DSL.param("id", Long.class)));
+        this.byUsername = new RenderedQuery<>(dsl, Tables.USERS, Tables.USERS.USERNAME.eq(DSL.param("username", String.class)));
+        this.byEmail = new RenderedQuery<>(dsl, Tables.USERS, Tables.USERS.EMAIL.eq(DSL.param("email", String.class)));
+    }
 
     @Override
     public List<User> findAll() {
-        return dsl.selectFrom(Tables.USERS)
-                .fetch()
-                .stream()
-                .map(record -> User.builder()
-                        .id(record.getId())
-                        .username(record.getUsername())
-                        .password(record.getPassword())
-                        .email(record.getEmail())
-                        .firstName(record.getFirstName())
-                        .lastName(record.getLastName())
-                        .birthDate(record.getBirthDate())
-                        .enabled(record.getEnabled() != null && record.getEnabled() == 1)
-                        .roles(roleRepository.findAllByUserId(record.getId()))
-                        .addresses(addressRepository.findAllByUserId(record.getId()))
-                        .phones(phoneRepository.findAllByUserId(record.getId()))
-                        .createdBy(record.getCreatedBy())
-                        .updatedBy(record.getUpdatedBy())
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                ).collect(Collectors.toUnmodifiableList());
-    }
-
-    @Override
-    public Optional<User> findById(Long id) {
-        return dsl.selectFrom(Tables.USERS)
-                .where(Tables.USERS.ID.eq(id))
-                .fetchOptional()
-                .map(record -> User.builder()
-                        .id(record.getId())
-                        .username(record.getUsername())
-                        .password(record.getPassword())
-                        .email(record.getEmail())
-                        .firstName(record.getFirstName())
-                        .lastName(record.getLastName())
-                        .birthDate(record.getBirthDate())
-                        .enabled(record.getEnabled() != null && record.getEnabled() == 1)
-                        .roles(roleRepository.findAllByUserId(record.getId()))
-                        .addresses(addressRepository.findAllByUserId(record.getId()))
-                        .phones(phoneRepository.findAllByUserId(record.getId()))
-                        .createdBy(record.getCreatedBy())
-                        .updatedBy(record.getUpdatedBy())
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                );
-    }
-
-    @Override
-    public Optional<User> findByUsername(String username) {
-        return dsl.selectFrom(Tables.USERS)
-                .where(Tables.USERS.USERNAME.eq(username))
-                .fetchOptional()
-                .map(record -> User.builder()
-                        .id(record.getId())
-                        .username(record.getUsername())
-                        .password(record.getPassword())
-                        .email(record.getEmail())
-                        .firstName(record.getFirstName())
-                        .lastName(record.getLastName())
-                        .birthDate(record.getBirthDate())
-                        .enabled(record.getEnabled() != null && record.getEnabled() == 1)
-                        .roles(roleRepository.findAllByUserId(record.getId()))
-                        .addresses(addressRepository.findAllByUserId(record.getId()))
-                        .phones(phoneRepository.findAllByUserId(record.getId()))
-                        .createdBy(record.getCreatedBy())
-                        .updatedBy(record.getUpdatedBy())
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                );
-    }
-
-    @Override
-    public Optional<User> findByEmail(String email) {
-        return dsl.selectFrom(Tables.USERS)
-                .where(Tables.USERS.EMAIL.eq(email))
-                .fetchOptional()
-                .map(record -> User.builder()
-                        .id(record.getId())
-                        .username(record.getUsername())
-                        .password(record.getPassword())
-                        .email(record.getEmail())
-                        .firstName(record.getFirstName())
-                        .lastName(record.getLastName())
-                        .birthDate(record.getBirthDate())
-                        .enabled(record.getEnabled() != null && record.getEnabled() == 1)
-                        .roles(roleRepository.findAllByUserId(record.getId()))
-                        .addresses(addressRepository.findAllByUserId(record.getId()))
-                        .phones(phoneRepository.findAllByUserId(record.getId()))
-                        .createdBy(record.getCreatedBy())
-                        .updatedBy(record.getUpdatedBy())
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                );
+        return aggregateLoader.load(dsl.selectFrom(Tables.USERS).fetch(), UserFetchPlan.FULL);
+    }
+
+    @Override
+    public List<User> findPage(UserCursor after, int limit, UserSort sort, UserFetchPlan plan) {
+        // Paginación por keyset: el costo de cada página no depende de su profundidad
+        List<UsersRecord> records = switch (sort) {
+            case ID -> {
+                SelectSeekStep1<UsersRecord, Long> query = dsl.selectFrom(Tables.USERS)
+                        .orderBy(Tables.USERS.ID);
+                yield after == null
+                        ? query.limit(limit).fetch()
+                        : query.seek(after.id()).limit(limit).fetch();
+            }
+            case CREATED_AT -> {
+                SelectSeekStep2<UsersRecord, LocalDateTime, Long> query = dsl.selectFrom(Tables.USERS)
+                        .orderBy(Tables.USERS.CREATED_AT, Tables.USERS.ID);
+                yield after == null
+                        ? query.limit(limit).fetch()
+                        : query.seek(LocalDateTime.ofInstant(after.createdAt(), ZoneOffset.UTC), after.id()).limit(limit).fetch();
+            }
+        };
+
+        return aggregateLoader.load(records, plan);
+    }
+
+    @Override
+    public void streamAll(Consumer<User> consumer) {
+        int chunkSize = exportProperties.getChunkSize();
+        List<UsersRecord> chunk = new ArrayList<>(chunkSize);
+
+        // El cursor mantiene en memoria solo fetchSize filas; las relaciones se cargan por bloques
+        try (Cursor<UsersRecord> cursor = dsl.selectFrom(Tables.USERS)
+                .orderBy(Tables.USERS.ID)
+                .fetchSize(exportProperties.getFetchSize())
+                .fetchLazy()) {
+            for (UsersRecord record : cursor) {
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    aggregateLoader.load(chunk, UserFetchPlan.FULL).forEach(consumer);
+                    chunk.clear();
+                }
+            }
+        }
+
+        aggregateLoader.load(chunk, UserFetchPlan.FULL).forEach(consumer);
+    }
+
+    @Override
+    public void streamUsernamesAndEmails(int fetchSize, BiConsumer<String, String> consumer) {
+        try (Cursor<Record2<String, String>> cursor = dsl.select(Tables.USERS.USERNAME, Tables.USERS.EMAIL)
+                .from(Tables.USERS)
+                .fetchSize(fetchSize)
+                .fetchLazy()) {
+            for (Record2<String, String> record : cursor) {
+                consumer.accept(record.value1(), record.value2());
+            }
+        }
+    }
+
+    @Override
+    public Optional<User> findById(Long id, UserFetchPlan plan) {
+        return aggregateLoader.loadOne(byId.fetchOptional(id), plan);
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username, UserFetchPlan plan) {
+        return aggregateLoader.loadOne(byUsername.fetchOptional(username), plan);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email, UserFetchPlan plan) {
+        return aggregateLoader.loadOne(byEmail.fetchOptional(email), plan);
     }
 
     @Override
     public User save(User user) {
-        return Optional.ofNullable(dsl.insertInto(Tables.USERS)
-                        .set(Tables.USERS.USERNAME, user.getUsername())
-                        .set(Tables.USERS.PASSWORD, user.getPassword())
-                        .set(Tables.USERS.EMAIL, user.getEmail())
-                        .set(Tables.USERS.FIRST_NAME, user.getFirstName())
-                        .set(Tables.USERS.LAST_NAME, user.getLastName())
-                        .set(Tables.USERS.BIRTH_DATE, user.getBirthDate())
-                        .set(Tables.USERS.ENABLED, (byte) (user.isEnabled() ? 1 : 0))
-                        .set(Tables.USERS.CREATED_BY, user.getCreatedBy())
-                        .set(Tables.USERS.UPDATED_BY, user.getUpdatedBy())
-                        .onDuplicateKeyUpdate()
-                        .set(Tables.USERS.PASSWORD, user.getPassword())
-                        .set(Tables.USERS.EMAIL, user.getEmail())
-                        .set(Tables.USERS.FIRST_NAME, user.getFirstName())
-                        .set(Tables.USERS.LAST_NAME, user.getLastName())
-                        .set(Tables.USERS.BIRTH_DATE, user.getBirthDate())
-                        .set(Tables.USERS.ENABLED, (byte) (user.isEnabled() ? 1 : 0))
-                        .set(Tables.USERS.UPDATED_BY, user.getUpdatedBy())
-                        .set(Tables.USERS.UPDATED_AT, user.getUpdatedAt().atZone(ZoneOffset.UTC).toLocalDateTime())
-                        .returning(Tables.USERS.ID)
-                        .fetchOne())
-                .map(record -> User.builder()
-                        .id(record.getId())
-                        .username(record.getUsername())
-                        .password(record.getPassword())
-                        .email(record.getEmail())
-                        .firstName(record.getFirstName())
-                        .lastName(record.getLastName())
-                        .birthDate(record.getBirthDate())
-                        .enabled(record.getEnabled() != null && record.getEnabled() == 1)
-//                        .roles(roleRepository.findAllByUserId(record.getId()))
-//                        .addresses(addressRepository.findAllByUserId(record.getId()))
-//                        .phones(phoneRepository.findAllByUserId(record.getId()))
-                        .createdBy(record.getCreatedBy())
-                        .updatedBy(record.getUpdatedBy())
-                        .createdAt(record.getCreatedAt().toInstant(ZoneOffset.UTC))
-                        .updatedAt(record.getUpdatedAt().toInstant(ZoneOffset.UTC))
-                        .build()
-                ).orElseThrow(() -> DatabaseOperationException.saveFailed("User"));
+        if (user.getId() == null) {
+            Long id = dsl.insertInto(Tables.USERS)
+                    .set(Tables.USERS.USERNAME, user.getUsername())
+                    .set(Tables.USERS.PASSWORD, user.getPassword())
+                    .set(Tables.USERS.EMAIL, user.getEmail())
+                    .set(Tables.USERS.FIRST_NAME, user.getFirstName())
+                    .set(Tables.USERS.LAST_NAME, user.getLastName())
+                    .set(Tables.USERS.BIRTH_DATE, user.getBirthDate())
+                    .set(Tables.USERS.ENABLED, (byte) (user.isEnabled() ? 1 : 0))
+                    .set(Tables.USERS.CREATED_BY, user.getCreatedBy())
+                    .set(Tables.USERS.UPDATED_BY, user.getUpdatedBy())
+                    .set(Tables.USERS.CREATED_AT, JooqTimestamps.valueOrNow(user.getCreatedAt()))
+                    .set(Tables.USERS.UPDATED_AT, JooqTimestamps.valueOrNow(user.getUpdatedAt()))
+                    .returningResult(Tables.USERS.ID)
+                    .fetchOptional(Tables.USERS.ID)
+                    .orElseThrow(() -> DatabaseOperationException.saveFailed("User"));
+
+            // Se devuelve el estado escrito sin volver a leer la fila
+            user.setId(id);
+            user.setVersion(0L);
+            user.trackChanges();
+            return user;
+        }
+
+        // Solo las columnas modificadas: reescribir username o email sin cambios también actualiza sus índices
+        Set<User.Attribute> changed = user.changedAttributes();
+        if (changed.isEmpty()) {
+            // Sin UPDATE, pero la versión indicada se sigue comprobando: un guardado sin cambios con
+            // una versión vieja es un 409, no un éxito
+            if (user.getVersion() != null && !dsl.fetchExists(Tables.USERS,
+                    Tables.USERS.ID.eq(user.getId()).and(Tables.USERS.VERSION.eq(user.getVersion())))) {
+                throw existsById(user.getId())
+                        ? new ConcurrentUpdateException("User", user.getId())
+                        : new ResourceNotFoundException("User", user.getId());
+            }
+            return user;
+        }
+
+        Instant now = JooqTimestamps.now();
+        UpdateSetMoreStep<UsersRecord> update = dsl.update(Tables.USERS)
+                .set(Tables.USERS.UPDATED_BY, user.getUpdatedBy())
+                .set(Tables.USERS.UPDATED_AT, JooqTimestamps.toUtc(now))
+                .set(Tables.USERS.VERSION, Tables.USERS.VERSION.plus(1));
+        for (User.Attribute attribute : changed) {
+            update = switch (attribute) {
+                case USERNAME -> update.set(Tables.USERS.USERNAME, user.getUsername());
+                case PASSWORD -> update.set(Tables.USERS.PASSWORD, user.getPassword());
+                case EMAIL -> update.set(Tables.USERS.EMAIL, user.getEmail());
+                case FIRST_NAME -> update.set(Tables.USERS.FIRST_NAME, user.getFirstName());
+                case LAST_NAME -> update.set(Tables.USERS.LAST_NAME, user.getLastName());
+                case BIRTH_DATE -> update.set(Tables.USERS.BIRTH_DATE, user.getBirthDate());
+                case ENABLED -> update.set(Tables.USERS.ENABLED, (byte) (user.isEnabled() ? 1 : 0));
+            };
+        }
+
+        int updated = update.where(Tables.USERS.ID.eq(user.getId()))
+                .and(user.getVersion() == null ? DSL.noCondition() : Tables.USERS.VERSION.eq(user.getVersion()))
+                .execute();
+
+        if (updated == 0) {
+            throw existsById(user.getId())
+                    ? new ConcurrentUpdateException("User", user.getId())
+                    : new ResourceNotFoundException("User", user.getId());
+        }
+        // Toda actualización cambia la versión del agregado, aunque el llamador traiga el updatedAt leído
+        user.setUpdatedAt(now);
+        if (user.getVersion() != null) {
+            user.setVersion(user.getVersion() + 1);
+        }
+        user.trackChanges();
+        return user;
+    }
+
+    @Override
+    public Map<String, Long> insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return Map.of();
+        }
+
+        InsertSetStep<UsersRecord> next = dsl.insertInto(Tables.USERS);
+        InsertSetMoreStep<UsersRecord> insert = null;
+        for (User user : users) {
+            insert = next.set(Tables.USERS.USERNAME, user.getUsername())
+                    .set(Tables.USERS.PASSWORD, user.getPassword())
+                    .set(Tables.USERS.EMAIL, user.getEmail())
+                    .set(Tables.USERS.FIRST_NAME, user.getFirstName())
+                    .set(Tables.USERS.LAST_NAME, user.getLastName())
+                    .set(Tables.USERS.BIRTH_DATE, user.getBirthDate())
+                    .set(Tables.USERS.ENABLED, (byte) (user.isEnabled() ? 1 : 0))
+                    .set(Tables.USERS.CREATED_BY, user.getCreatedBy())
+                    .set(Tables.USERS.UPDATED_BY, user.getUpdatedBy())
+                    .set(Tables.USERS.CREATED_AT, JooqTimestamps.valueOrNow(user.getCreatedAt()))
+                    .set(Tables.USERS.UPDATED_AT, JooqTimestamps.valueOrNow(user.getUpdatedAt()));
+            next = insert.newRecord();
+        }
+        insert.execute();
+
+        // Con inserciones concurrentes MySQL no garantiza IDs consecutivos para una sentencia de
+        // varias filas, así que se leen por nombre de usuario dentro de la misma transacción
+        return dsl.select(Tables.USERS.USERNAME, Tables.USERS.ID)
+                .from(Tables.USERS)
+                .where(Tables.USERS.USERNAME.in(users.stream().map(User::getUsername).toList()))
+                .fetchMap(Tables.USERS.USERNAME, Tables.USERS.ID);
     }
 
     @Override
@@ -172,6 +248,69 @@ public class JooqUserRepository implements UserRepository {
                 .execute();
     }
 
+    @Override
+    public boolean existsById(Long id) {
+        return dsl.fetchExists(
+                dsl.selectOne()
+                        .from(Tables.USERS)
+                        .where(Tables.USERS.ID.eq(id))
+        );
+    }
+
+    @Override
+    public boolean lockById(Long id) {
+        // SELECT ... FOR UPDATE sobre la fila del usuario: serializa las escrituras concurrentes de sus hijos
+        return dsl.select(Tables.USERS.ID)
+                .from(Tables.USERS)
+                .where(Tables.USERS.ID.eq(id))
+                .forUpdate()
+                .fetchOptional()
+                .isPresent();
+    }
+
+    @Override
+    public Optional<Versioned<User>> findVersionedById(Long id, UserFetchPlan plan) {
+        // La versión primero: una escritura entre ambas lecturas fuera de una transacción deja una
+        // ETag vieja (un 200 de más), nunca una nueva con el cuerpo anterior
+        return findVersion(id).flatMap(version -> findById(id, plan).map(user -> new Versioned<>(user, version)));
+    }
+
+    @Override
+    public Optional<UserVersion> findVersion(Long id) {
+        // Una sola consulta: cada subconsulta se resuelve con el índice (user_id, updated_at) de su tabla
+        Record8<LocalDateTime, LocalDateTime, Integer, LocalDateTime, Integer, LocalDateTime, Integer, LocalDateTime> record = dsl.select(
+                        Tables.USERS.UPDATED_AT,
+                        DSL.field(DSL.select(DSL.max(Tables.ADDRESSES.UPDATED_AT))
+                                .from(Tables.ADDRESSES).where(Tables.ADDRESSES.USER_ID.eq(Tables.USERS.ID))),
+                        DSL.field(DSL.selectCount()
+                                .from(Tables.ADDRESSES).where(Tables.ADDRESSES.USER_ID.eq(Tables.USERS.ID))),
+                        DSL.field(DSL.select(DSL.max(Tables.PHONES.UPDATED_AT))
+                                .from(Tables.PHONES).where(Tables.PHONES.USER_ID.eq(Tables.USERS.ID))),
+                        DSL.field(DSL.selectCount()
+                                .from(Tables.PHONES).where(Tables.PHONES.USER_ID.eq(Tables.USERS.ID))),
+                        DSL.field(DSL.select(DSL.max(Tables.ROLES.UPDATED_AT))
+                                .from(Tables.USER_ROLES)
+                                .join(Tables.ROLES).on(Tables.ROLES.ID.eq(Tables.USER_ROLES.ROLE_ID))
+                                .where(Tables.USER_ROLES.USER_ID.eq(Tables.USERS.ID))),
+                        DSL.field(DSL.selectCount()
+                                .from(Tables.USER_ROLES).where(Tables.USER_ROLES.USER_ID.eq(Tables.USERS.ID))),
+                        DSL.field(DSL.select(DSL.max(Tables.USER_ROLES.CREATED_AT))
+                                .from(Tables.USER_ROLES).where(Tables.USER_ROLES.USER_ID.eq(Tables.USERS.ID))))
+                .from(Tables.USERS)
+                .where(Tables.USERS.ID.eq(id))
+                .fetchOne();
+
+        if (record == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new UserVersion(
+                JooqTimestamps.toInstant(record.value1()),
+                JooqTimestamps.toInstant(record.value2()), record.value3(),
+                JooqTimestamps.toInstant(record.value4()), record.value5(),
+                JooqTimestamps.toInstant(record.value6()), record.value7(),
+                JooqTimestamps.toInstant(record.value8())));
+    }
+
     @Override
     public boolean existsByUsername(String username) {
         return dsl.fetchExists(
@@ -189,4 +328,28 @@ public class JooqUserRepository implements UserRepository {
                         .where(Tables.USERS.EMAIL.eq(email))
         );
     }
+
+    @Override
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return Set.of();
+        }
+
+        return new HashSet<>(dsl.select(Tables.USERS.USERNAME)
+                .from(Tables.USERS)
+                .where(Tables.USERS.USERNAME.in(usernames))
+                .fetch(Tables.USERS.USERNAME));
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+
+        return new HashSet<>(dsl.select(Tables.USERS.EMAIL)
+                .from(Tables.USERS)
+                .where(Tables.USERS.EMAIL.in(emails))
+                .fetch(Tables.USERS.EMAIL));
+    }
 }
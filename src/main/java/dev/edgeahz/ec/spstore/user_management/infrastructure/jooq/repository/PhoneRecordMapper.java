@@ -0,0 +1,52 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
+
+import dev.edgeahz.ec.spstore.user_management.domain.model.Phone;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.Tables;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Fila de {@code phones} a {@link Phone}, leyendo las columnas por su posición en la tabla generada.
+ */
+final class PhoneRecordMapper implements RecordMapper<Record, Phone> {
+
+    static final PhoneRecordMapper INSTANCE = new PhoneRecordMapper();
+
+    private static final int ID = Tables.PHONES.indexOf(Tables.PHONES.ID);
+    private static final int USER_ID = Tables.PHONES.indexOf(Tables.PHONES.USER_ID);
+    private static final int TYPE = Tables.PHONES.indexOf(Tables.PHONES.TYPE);
+    private static final int COUNTRY_CODE = Tables.PHONES.indexOf(Tables.PHONES.COUNTRY_CODE);
+    private static final int NUMBER = Tables.PHONES.indexOf(Tables.PHONES.NUMBER);
+    private static final int IS_DEFAULT = Tables.PHONES.indexOf(Tables.PHONES.IS_DEFAULT);
+    private static final int CREATED_AT = Tables.PHONES.indexOf(Tables.PHONES.CREATED_AT);
+    private static final int UPDATED_AT = Tables.PHONES.indexOf(Tables.PHONES.UPDATED_AT);
+    private static final int VERSION = Tables.PHONES.indexOf(Tables.PHONES.VERSION);
+
+    // Tipo del dominio por ordinal del enum generado para la columna ENUM, en lugar de valueOf por fila
+    private static final Phone.PhoneType[] TYPES = Arrays.stream(Tables.PHONES.TYPE.getType().getEnumConstants())
+            .map(type -> Phone.PhoneType.valueOf(type.name()))
+            .toArray(Phone.PhoneType[]::new);
+
+    private PhoneRecordMapper() {
+    }
+
+    @Override
+    public Phone map(Record record) {
+        Phone phone = new Phone();
+        phone.setId((Long) record.get(ID));
+        phone.setUserId((Long) record.get(USER_ID));
+        phone.setType(TYPES[((Enum<?>) record.get(TYPE)).ordinal()]);
+        phone.setCountryCode((String) record.get(COUNTRY_CODE));
+        phone.setNumber((String) record.get(NUMBER));
+        Byte isDefault = (Byte) record.get(IS_DEFAULT);
+        phone.setDefault(isDefault != null && isDefault == 1);
+        phone.setCreatedAt(JooqTimestamps.toInstant((LocalDateTime) record.get(CREATED_AT)));
+        phone.setUpdatedAt(JooqTimestamps.toInstant((LocalDateTime) record.get(UPDATED_AT)));
+        phone.setVersion((Long) record.get(VERSION));
+        phone.trackChanges();
+        return phone;
+    }
+}
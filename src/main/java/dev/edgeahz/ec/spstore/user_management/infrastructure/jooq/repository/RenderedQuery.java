@@ -0,0 +1,36 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
+
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.Table;
+
+import java.util.Optional;
+
+/**
+ * {@code SELECT} de forma fija sobre una tabla, renderizado una sola vez al crear el repositorio.
+ * La condición se escribe con {@code DSL.param(...)} y cada ejecución solo enlaza los valores en
+ * ese orden: jOOQ no vuelve a recorrer el árbol de la consulta y el texto SQL es siempre el mismo,
+ * así que el driver encuentra la sentencia preparada en su caché.
+ */
+final class RenderedQuery<R extends Record> {
+
+    private final DSLContext dsl;
+    private final Table<R> table;
+    private final String sql;
+
+    RenderedQuery(DSLContext dsl, Table<R> table, Condition condition) {
+        this.dsl = dsl;
+        this.table = table;
+        this.sql = dsl.render(dsl.selectFrom(table).where(condition));
+    }
+
+    Optional<R> fetchOptional(Object... bindValues) {
+        return dsl.resultQuery(sql, bindValues).coerce(table).fetchOptional();
+    }
+
+    Result<R> fetch(Object... bindValues) {
+        return dsl.resultQuery(sql, bindValues).coerce(table).fetch();
+    }
+}
@@ -0,0 +1,43 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
+
+import dev.edgeahz.ec.spstore.user_management.domain.model.Role;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.Tables;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de {@code roles} a {@link Role}, leyendo las columnas por su posición en la tabla generada.
+ * Sirve también para los joins con {@code user_roles} siempre que seleccionen
+ * {@code Tables.ROLES.fields()} como primeras columnas.
+ */
+final class RoleRecordMapper implements RecordMapper<Record, Role> {
+
+    static final RoleRecordMapper INSTANCE = new RoleRecordMapper();
+
+    static final int ID = Tables.ROLES.indexOf(Tables.ROLES.ID);
+    private static final int NAME = Tables.ROLES.indexOf(Tables.ROLES.NAME);
+    private static final int DESCRIPTION = Tables.ROLES.indexOf(Tables.ROLES.DESCRIPTION);
+    private static final int CREATED_BY = Tables.ROLES.indexOf(Tables.ROLES.CREATED_BY);
+    private static final int UPDATED_BY = Tables.ROLES.indexOf(Tables.ROLES.UPDATED_BY);
+    private static final int CREATED_AT = Tables.ROLES.indexOf(Tables.ROLES.CREATED_AT);
+    private static final int UPDATED_AT = Tables.ROLES.indexOf(Tables.ROLES.UPDATED_AT);
+
+    private RoleRecordMapper() {
+    }
+
+    @Override
+    public Role map(Record record) {
+        Role role = new Role();
+        role.setId((Long) record.get(ID));
+        role.setName((String) record.get(NAME));
+        role.setDescription((String) record.get(DESCRIPTION));
+        role.setCreatedBy((String) record.get(CREATED_BY));
+        role.setUpdatedBy((String) record.get(UPDATED_BY));
+        role.setCreatedAt(JooqTimestamps.toInstant((LocalDateTime) record.get(CREATED_AT)));
+        role.setUpdatedAt(JooqTimestamps.toInstant((LocalDateTime) record.get(UPDATED_AT)));
+        role.trackChanges();
+        return role;
+    }
+}
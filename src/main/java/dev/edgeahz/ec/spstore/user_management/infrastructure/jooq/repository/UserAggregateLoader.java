@@ -0,0 +1,84 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
+
+import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Phone;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Role;
+import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserFetchPlan;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserRelation;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.tables.records.UsersRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Construye agregados {@link User} a partir de un conjunto de filas de {@code users}, cargando
+ * roles, direcciones y teléfonos con una consulta por tabla hija para todo el conjunto
+ * (en bloques de {@value #CHUNK_SIZE} IDs) en lugar de tres consultas por usuario. Solo se
+ * consultan las relaciones incluidas en el {@link UserFetchPlan}.
+ */
+@Component
+@RequiredArgsConstructor
+class UserAggregateLoader {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private final JooqRoleRepository roleRepository;
+    private final JooqAddressRepository addressRepository;
+    private final JooqPhoneRepository phoneRepository;
+
+    List<User> load(List<UsersRecord> records, UserFetchPlan plan) {
+        if (records.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> userIds = records.stream()
+                .map(UsersRecord::getId)
+                .toList();
+
+        Map<Long, List<Role>> roles = plan.includes(UserRelation.ROLES)
+                ? loadChunked(userIds, roleRepository::findAllByUserIds) : null;
+        Map<Long, List<Address>> addresses = plan.includes(UserRelation.ADDRESSES)
+                ? loadChunked(userIds, addressRepository::findAllByUserIds) : null;
+        Map<Long, List<Phone>> phones = plan.includes(UserRelation.PHONES)
+                ? loadChunked(userIds, phoneRepository::findAllByUserIds) : null;
+
+        return records.stream()
+                .map(record -> toUser(record, roles, addresses, phones))
+                .toList();
+    }
+
+    private static User toUser(UsersRecord record, Map<Long, List<Role>> roles, Map<Long, List<Address>> addresses,
+                               Map<Long, List<Phone>> phones) {
+        User user = UserRecordMapper.INSTANCE.map(record);
+        user.setRoles(relationOf(roles, user.getId()));
+        user.setAddresses(relationOf(addresses, user.getId()));
+        user.setPhones(relationOf(phones, user.getId()));
+        return user;
+    }
+
+    Optional<User> loadOne(Optional<UsersRecord> record, UserFetchPlan plan) {
+        return record.map(found -> load(List.of(found), plan).getFirst());
+    }
+
+    private static <T> List<T> relationOf(Map<Long, List<T>> relation, Long userId) {
+        return relation == null ? null : relation.getOrDefault(userId, List.of());
+    }
+
+    private static <T> Map<Long, List<T>> loadChunked(List<Long> userIds, Function<List<Long>, Map<Long, List<T>>> loader) {
+        if (userIds.size() <= CHUNK_SIZE) {
+            return loader.apply(userIds);
+        }
+
+        Map<Long, List<T>> result = new HashMap<>();
+        for (int from = 0; from < userIds.size(); from += CHUNK_SIZE) {
+            result.putAll(loader.apply(userIds.subList(from, Math.min(from + CHUNK_SIZE, userIds.size()))));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,56 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
+
+import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.Tables;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Fila de {@code users} a {@link User}, leyendo las columnas por su posición en la tabla generada.
+ * Las relaciones quedan en {@code null}: las asigna {@link UserAggregateLoader} según el plan.
+ */
+final class UserRecordMapper implements RecordMapper<Record, User> {
+
+    static final UserRecordMapper INSTANCE = new UserRecordMapper();
+
+    private static final int ID = Tables.USERS.indexOf(Tables.USERS.ID);
+    private static final int USERNAME = Tables.USERS.indexOf(Tables.USERS.USERNAME);
+    private static final int PASSWORD = Tables.USERS.indexOf(Tables.USERS.PASSWORD);
+    private static final int EMAIL = Tables.USERS.indexOf(Tables.USERS.EMAIL);
+    private static final int FIRST_NAME = Tables.USERS.indexOf(Tables.USERS.FIRST_NAME);
+    private static final int LAST_NAME = Tables.USERS.indexOf(Tables.USERS.LAST_NAME);
+    private static final int BIRTH_DATE = Tables.USERS.indexOf(Tables.USERS.BIRTH_DATE);
+    private static final int ENABLED = Tables.USERS.indexOf(Tables.USERS.ENABLED);
+    private static final int CREATED_BY = Tables.USERS.indexOf(Tables.USERS.CREATED_BY);
+    private static final int UPDATED_BY = Tables.USERS.indexOf(Tables.USERS.UPDATED_BY);
+    private static final int CREATED_AT = Tables.USERS.indexOf(Tables.USERS.CREATED_AT);
+    private static final int UPDATED_AT = Tables.USERS.indexOf(Tables.USERS.UPDATED_AT);
+    private static final int VERSION = Tables.USERS.indexOf(Tables.USERS.VERSION);
+
+    private UserRecordMapper() {
+    }
+
+    @Override
+    public User map(Record record) {
+        User user = new User();
+        user.setId((Long) record.get(ID));
+        user.setUsername((String) record.get(USERNAME));
+        user.setPassword((String) record.get(PASSWORD));
+        user.setEmail((String) record.get(EMAIL));
+        user.setFirstName((String) record.get(FIRST_NAME));
+        user.setLastName((String) record.get(LAST_NAME));
+        user.setBirthDate((LocalDate) record.get(BIRTH_DATE));
+        Byte enabled = (Byte) record.get(ENABLED);
+        user.setEnabled(enabled != null && enabled == 1);
+        user.setCreatedBy((String) record.get(CREATED_BY));
+        user.setUpdatedBy((String) record.get(UPDATED_BY));
+        user.setCreatedAt(JooqTimestamps.toInstant((LocalDateTime) record.get(CREATED_AT)));
+        user.setUpdatedAt(JooqTimestamps.toInstant((LocalDateTime) record.get(UPDATED_AT)));
+        user.setVersion((Long) record.get(VERSION));
+        user.trackChanges();
+        return user;
+    }
+}
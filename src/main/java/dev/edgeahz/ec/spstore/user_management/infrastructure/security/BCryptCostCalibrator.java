@@ -0,0 +1,68 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.security;
+
+import dev.edgeahz.ec.spstore.user_management.infrastructure.config.PasswordHashingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Elige el costo de BCrypt más alto cuya mediana de {@code encode} cabe en el tiempo objetivo en la
+ * CPU actual, sin bajar nunca de {@code minStrength}.
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibracion-bcrypt";
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static Calibration calibrate(PasswordHashingProperties properties) {
+        if (properties.getStrength() != null) {
+            int strength = properties.getStrength();
+            return new Calibration(strength, measure(strength, properties.getCalibrationSamples()));
+        }
+
+        Duration target = properties.getTargetTime();
+        int chosen = properties.getMinStrength();
+        Duration chosenMedian = measure(chosen, properties.getCalibrationSamples());
+
+        for (int strength = chosen + 1; strength <= properties.getMaxStrength(); strength++) {
+            // Cada punto de costo duplica el tiempo: si el doble ya excede el objetivo no vale la pena medir
+            if (chosenMedian.multipliedBy(2).compareTo(target) > 0) {
+                break;
+            }
+
+            Duration median = measure(strength, properties.getCalibrationSamples());
+            if (median.compareTo(target) > 0) {
+                break;
+            }
+            chosen = strength;
+            chosenMedian = median;
+        }
+
+        log.info("Costo de BCrypt calibrado: {} (mediana {} ms, objetivo {} ms)",
+                chosen, chosenMedian.toMillis(), target.toMillis());
+        return new Calibration(chosen, chosenMedian);
+    }
+
+    private static Duration measure(int strength, int samples) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(SAMPLE_PASSWORD);
+
+        long[] nanos = new long[Math.max(1, samples)];
+        for (int i = 0; i < nanos.length; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            nanos[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(nanos);
+        return Duration.ofNanos(nanos[nanos.length / 2]);
+    }
+
+    public record Calibration(int strength, Duration median) {
+    }
+}
@@ -0,0 +1,69 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.security;
+
+import dev.edgeahz.ec.spstore.user_management.application.port.output.BulkPasswordHasher;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Calcula hashes BCrypt de un bloque de contraseñas en paralelo para las importaciones masivas.
+ * Usa su propio pool, separado del de {@link PooledPasswordEncoder}, para que una importación no
+ * provoque rechazos 503 en los registros interactivos; conviene dejarle menos hilos que núcleos.
+ */
+@Slf4j
+@Component
+public class ParallelPasswordHasher implements BulkPasswordHasher {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ExecutorService executor;
+
+    public ParallelPasswordHasher(BCryptPasswordEncoder encoder,
+                                  @Value("${user-management.import.hashing-threads:0}") int hashingThreads) {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        this.encoder = encoder;
+        this.executor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("import-hashing-", 0).daemon().factory());
+        log.info("Hash de contraseñas para importaciones con {} hilos", threads);
+    }
+
+    @Override
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<Callable<String>> tasks = rawPasswords.stream()
+                .<Callable<String>>map(raw -> () -> encoder.encode(raw))
+                .toList();
+
+        try {
+            List<Future<String>> futures = executor.invokeAll(tasks);
+            return futures.stream()
+                    .map(ParallelPasswordHasher::join)
+                    .toList();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido calculando hashes de contraseñas", e);
+        }
+    }
+
+    private static String join(Future<String> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido calculando hashes de contraseñas", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("No se pudo calcular el hash de una contraseña", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,118 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.security;
+
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ServiceBusyException;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ejecuta {@code encode}/{@code matches} del encoder delegado en un pool acotado con cola acotada.
+ * El hilo de la petición espera el resultado, pero como mucho {@code poolSize + queueCapacity}
+ * peticiones pueden estar esperando a la vez; el resto recibe {@link ServiceBusyException} (503)
+ * sin consumir CPU, de modo que una ráfaga de registros no agota los hilos de Tomcat.
+ */
+@Slf4j
+public class PooledPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.retryAfter = properties.getRetryAfter();
+        this.executor = new ThreadPoolExecutor(
+                properties.getPoolSize(),
+                properties.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing");
+        this.waitTimer = Timer.builder("password.hashing.wait")
+                .description("Tiempo que una operación de hash espera un hilo libre")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.encodeTimer = hashTimer("encode", meterRegistry);
+        this.matchesTimer = hashTimer("matches", meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Operaciones de hash rechazadas por pool saturado")
+                .register(meterRegistry);
+    }
+
+    private static Timer hashTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("password.hashing.duration")
+                .description("Tiempo de CPU de una operación de hash")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // No calcula ningún hash: se resuelve en el hilo que llama
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Timer timer, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Pool de hash de contraseñas saturado ({} en cola)", executor.getQueue().size());
+            throw ServiceBusyException.passwordHashing(retryAfter);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando el hash de la contraseña", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,51 @@
+package dev.edgeahz.ec.spstore.user_management.shared.mapper;
+
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.AddressRequest;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.AddressResponse;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.CreateUserRequest;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.PhoneRequest;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.PhoneResponse;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.UpdateUserRequest;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.UserImportJobResponse;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.UserImportRecord;
+import dev.edgeahz.ec.spstore.user_management.api.rest.dto.UserResponse;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Phone;
+import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserImportJob;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring", uses = RoleMapper.class)
+public interface UserMapper {
+
+    @Mapping(target = "phoneNumbers", source = "phones")
+    UserResponse toUserResponse(User user);
+
+    @Mapping(target = "isDefault", expression = "java(address.isDefault())")
+    AddressResponse toAddressResponse(Address address);
+
+    @Mapping(target = "isDefault", expression = "java(phone.isDefault())")
+    PhoneResponse toPhoneResponse(Phone phone);
+
+    @Mapping(target = "roles", ignore = true)
+    @Mapping(target = "addresses", ignore = true)
+    @Mapping(target = "phones", ignore = true)
+    User toUser(CreateUserRequest createUserRequest);
+
+    @Mapping(target = "roles", ignore = true)
+    User toUser(UserImportRecord userImportRecord);
+
+    // "enabled" admite ausencia y el modelo no: el controlador lo pasa aparte a updateUser
+    @Mapping(target = "enabled", ignore = true)
+    @Mapping(target = "roles", ignore = true)
+    @Mapping(target = "addresses", ignore = true)
+    @Mapping(target = "phones", ignore = true)
+    User toUser(UpdateUserRequest updateUserRequest);
+
+    Address toAddress(AddressRequest addressRequest);
+
+    Phone toPhone(PhoneRequest phoneRequest);
+
+    UserImportJobResponse toUserImportJobResponse(UserImportJob job);
+}
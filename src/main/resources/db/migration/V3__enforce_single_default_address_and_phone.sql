@@ -0,0 +1,23 @@
+-- Se conserva como predeterminado el registro más reciente de cada usuario antes de crear la restricción
+UPDATE addresses a
+    JOIN (SELECT user_id, MAX(id) AS keep_id FROM addresses WHERE is_default GROUP BY user_id) d
+    ON a.user_id = d.user_id
+SET a.is_default = FALSE
+WHERE a.is_default
+  AND a.id <> d.keep_id;
+
+UPDATE phones p
+    JOIN (SELECT user_id, MAX(id) AS keep_id FROM phones WHERE is_default GROUP BY user_id) d
+    ON p.user_id = d.user_id
+SET p.is_default = FALSE
+WHERE p.is_default
+  AND p.id <> d.keep_id;
+
+-- default_owner_id solo tiene valor en la fila predeterminada; los NULL no chocan en el índice único
+ALTER TABLE addresses
+    ADD COLUMN default_owner_id BIGINT GENERATED ALWAYS AS (CASE WHEN is_default THEN user_id END) STORED,
+    ADD UNIQUE INDEX uk_addresses_default_owner (default_owner_id);
+
+ALTER TABLE phones
+    ADD COLUMN default_owner_id BIGINT GENERATED ALWAYS AS (CASE WHEN is_default THEN user_id END) STORED,
+    ADD UNIQUE INDEX uk_phones_default_owner (default_owner_id);
@@ -0,0 +1,4 @@
+-- Bloqueo optimista: cada UPDATE incrementa version y puede condicionarse a la versión leída
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE addresses ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE phones ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,143 @@
+package dev.edgeahz.ec.spstore.user_management.application.service;
+
+import dev.edgeahz.ec.spstore.user_management.application.port.input.AddressService;
+import dev.edgeahz.ec.spstore.user_management.application.port.input.PhoneService;
+import dev.edgeahz.ec.spstore.user_management.application.port.input.UserService;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Phone;
+import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Varios hilos marcan a la vez direcciones y teléfonos predeterminados del mismo usuario;
+ * al terminar debe quedar exactamente uno de cada tipo.
+ */
+@SpringBootTest
+class DefaultContactContentionTest {
+
+    private static final int THREADS = 16;
+    private static final int WRITES_PER_THREAD = 20;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private PhoneService phoneService;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        String username = "contention" + System.nanoTime();
+        userId = userService.createUser(User.builder()
+                .username(username)
+                .password("Contraseña123!")
+                .email(username + "@ejemplo.com")
+                .firstName("Prueba")
+                .lastName("Concurrencia")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .build()).getId();
+    }
+
+    @AfterEach
+    void deleteUser() {
+        userService.deleteUser(userId);
+    }
+
+    @Test
+    void concurrentDefaultAddressesLeaveSingleDefault() throws InterruptedException {
+        Address first = addressService.createAddress(address(true), userId);
+
+        hammer(i -> {
+            if (i % 2 == 0) {
+                addressService.createAddress(address(true), userId);
+            } else {
+                addressService.updateAddress(first.getId(), userId, address(true));
+            }
+        });
+
+        List<Address> addresses = addressService.getUserAddresses(userId);
+        assertEquals(1 + THREADS * WRITES_PER_THREAD / 2, addresses.size());
+        assertEquals(1, addresses.stream().filter(Address::isDefault).count());
+    }
+
+    @Test
+    void concurrentDefaultPhonesLeaveSingleDefault() throws InterruptedException {
+        Phone first = phoneService.createPhone(phone(true), userId);
+
+        hammer(i -> {
+            if (i % 2 == 0) {
+                phoneService.createPhone(phone(true), userId);
+            } else {
+                phoneService.updatePhone(first.getId(), userId, phone(true));
+            }
+        });
+
+        List<Phone> phones = phoneService.getUserPhones(userId);
+        assertEquals(1 + THREADS * WRITES_PER_THREAD / 2, phones.size());
+        assertEquals(1, phones.stream().filter(Phone::isDefault).count());
+    }
+
+    private static void hammer(IntConsumer write) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                        write.accept(i);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "Los hilos no terminaron a tiempo");
+        assertTrue(failures.isEmpty(), () -> "Escrituras fallidas: " + failures);
+    }
+
+    private static Address address(boolean isDefault) {
+        return Address.builder()
+                .street("Calle Mayor 1")
+                .city("Madrid")
+                .country("España")
+                .zipCode("28001")
+                .isDefault(isDefault)
+                .build();
+    }
+
+    private static Phone phone(boolean isDefault) {
+        return Phone.builder()
+                .type(Phone.PhoneType.MOBILE)
+                .countryCode("+34")
+                .number("600000000")
+                .isDefault(isDefault)
+                .build();
+    }
+}
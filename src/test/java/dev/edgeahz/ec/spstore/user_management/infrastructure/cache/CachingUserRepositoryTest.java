@@ -0,0 +1,122 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.cache;
+
+import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserFetchPlan;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserVersion;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Versioned;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.config.UserCacheProperties;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.datasource.ReadWriteRoutingDataSource;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.datasource.ReplicaLagMonitor;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository.JooqUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * El repositorio jOOQ se sustituye por uno que lee {@code users} con la misma fuente enrutada que
+ * usa la aplicación. Primario y réplica son dos bases H2 en memoria; la réplica no recibe las
+ * escrituras del primario y publica un retraso dentro del máximo, así que sigue recibiendo lecturas.
+ */
+class CachingUserRepositoryTest {
+
+    private static final UserVersion VERSION = new UserVersion(null, null, 0, null, 0, null, 0, null);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private CachingUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        JdbcTemplate replicaAdmin = new JdbcTemplate(replica);
+        replicaAdmin.execute("CREATE TABLE replica_lag (seconds BIGINT)");
+        replicaAdmin.update("INSERT INTO replica_lag VALUES (1)");
+
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(
+                List.of(new ReplicaLagMonitor.Replica("replica", replica, "SELECT seconds FROM replica_lag", "seconds")),
+                Duration.ofSeconds(5),
+                meterRegistry);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, lagMonitor, meterRegistry);
+        routing.afterPropertiesSet();
+        lagMonitor.probe();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        JooqUserRepository delegate = mock(JooqUserRepository.class);
+        when(delegate.findVersionedById(anyLong(), eq(UserFetchPlan.FULL))).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return jdbc.query("SELECT username FROM users WHERE id = ?",
+                    rs -> rs.next()
+                            ? Optional.of(new Versioned<>(User.builder().id(id).username(rs.getString(1)).build(), VERSION))
+                            : Optional.empty(),
+                    id);
+        });
+
+        repository = new CachingUserRepository(delegate, new UserCacheProperties(), transactionManager, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.shutdown();
+    }
+
+    private static DataSource h2(String node) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + node + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50))");
+        jdbc.update("INSERT INTO users VALUES (1, 'ana')");
+        return dataSource;
+    }
+
+    private String usernameInReadOnlyTransaction() {
+        return readOnly.execute(status -> repository.findById(1L, UserFetchPlan.FULL))
+                .map(User::getUsername)
+                .orElseThrow();
+    }
+
+    @Test
+    void missAfterWriteIsLoadedFromPrimaryNotFromLaggingReplica() {
+        assertEquals("ana", usernameInReadOnlyTransaction());
+        // Confirma el montaje: una lectura de solo lectura sin caché llega a la réplica
+        assertEquals("ana", readOnly.execute(status -> jdbc.queryForObject("SELECT username FROM users WHERE id = 1", String.class)));
+
+        readWrite.executeWithoutResult(status -> {
+            jdbc.update("UPDATE users SET username = 'ana.b' WHERE id = 1");
+            repository.evict(1L);
+        });
+        assertEquals("ana", readOnly.execute(status -> jdbc.queryForObject("SELECT username FROM users WHERE id = 1", String.class)));
+
+        assertEquals("ana.b", usernameInReadOnlyTransaction());
+
+        // Un cambio sin invalidar no se ve: lo que quedó en caché es el estado escrito en el primario
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE users SET username = 'ana.c' WHERE id = 1"));
+        assertEquals("ana.b", usernameInReadOnlyTransaction());
+    }
+}
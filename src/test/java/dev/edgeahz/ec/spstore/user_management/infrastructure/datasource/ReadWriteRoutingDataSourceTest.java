@@ -0,0 +1,94 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Primario y réplica son dos bases H2 en memoria que se distinguen por el contenido de la
+ * tabla {@code node}; la réplica publica su retraso en la tabla {@code replica_lag}.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JdbcTemplate replicaAdmin;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        replicaAdmin = new JdbcTemplate(replica);
+        replicaAdmin.execute("CREATE TABLE replica_lag (seconds BIGINT)");
+        replicaAdmin.update("INSERT INTO replica_lag VALUES (0)");
+
+        lagMonitor = new ReplicaLagMonitor(
+                List.of(new ReplicaLagMonitor.Replica("replica", replica, "SELECT seconds FROM replica_lag", "seconds")),
+                Duration.ofSeconds(5),
+                meterRegistry);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, lagMonitor, meterRegistry);
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private static DataSource h2(String node) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + node + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbc.update("INSERT INTO node VALUES (?)", node);
+        return dataSource;
+    }
+
+    private String node(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void readOnlyTransactionsGoToHealthyReplica() {
+        lagMonitor.probe();
+
+        assertEquals("replica", node(readOnly));
+        assertEquals("primary", node(readWrite));
+        assertEquals("primary", jdbc.queryForObject("SELECT name FROM node", String.class));
+        assertEquals(1.0, meterRegistry.counter("datasource.routing", "target", "replica", "reason", "read").count());
+    }
+
+    @Test
+    void readsFallBackToPrimaryUntilFirstProbe() {
+        assertEquals("primary", node(readOnly));
+        assertEquals(1.0, meterRegistry.counter("datasource.routing", "target", "primary", "reason", "fallback").count());
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhileReplicaLagsBehind() {
+        replicaAdmin.update("UPDATE replica_lag SET seconds = 30");
+        lagMonitor.probe();
+        assertEquals("primary", node(readOnly));
+
+        replicaAdmin.update("UPDATE replica_lag SET seconds = 1");
+        lagMonitor.probe();
+        assertEquals("replica", node(readOnly));
+    }
+}
@@ -0,0 +1,147 @@
+package dev.edgeahz.ec.spstore.user_management.infrastructure.jooq.repository;
+
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ConcurrentUpdateException;
+import dev.edgeahz.ec.spstore.user_management.domain.exception.ResourceNotFoundException;
+import dev.edgeahz.ec.spstore.user_management.domain.model.Address;
+import dev.edgeahz.ec.spstore.user_management.domain.model.User;
+import dev.edgeahz.ec.spstore.user_management.domain.model.UserFetchPlan;
+import dev.edgeahz.ec.spstore.user_management.infrastructure.config.UserExportProperties;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@code save} de entidades leídas del repositorio (con seguimiento de cambios) contra H2 en modo
+ * MySQL con las migraciones de producción: qué sentencias se envían, qué columnas lleva el UPDATE
+ * y cuándo falla con 409 o 404.
+ */
+class JooqPartialUpdateTest {
+
+    private final List<String> statements = new ArrayList<>();
+
+    private JdbcConnectionPool dataSource;
+    private JdbcTemplate jdbc;
+    private JooqUserRepository userRepository;
+    private JooqAddressRepository addressRepository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = JdbcConnectionPool.create(
+                "jdbc:h2:mem:partial-update-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/h2")
+                .load()
+                .migrate();
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO users (id, username, password, email, first_name, last_name, birth_date) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                1L, "ana", "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4f0ZvH5sYk5E0GqJ0l1Qe7e", "ana@example.com",
+                "Ana", "García", LocalDate.of(1990, 1, 1));
+        jdbc.update("INSERT INTO addresses (id, user_id, street, city, country) VALUES (?, ?, ?, ?, ?)",
+                1L, 1L, "Calle Mayor 1", "Madrid", "España");
+
+        DSLContext dsl = DSL.using(new DefaultConfiguration()
+                .set(dataSource)
+                .set(SQLDialect.H2)
+                .set(new Settings().withRenderSchema(false))
+                .set(new DefaultExecuteListenerProvider(new ExecuteListener() {
+                    @Override
+                    public void executeStart(ExecuteContext ctx) {
+                        statements.add(ctx.sql().toLowerCase(Locale.ROOT));
+                    }
+                })));
+        addressRepository = new JooqAddressRepository(dsl);
+        userRepository = new JooqUserRepository(dsl,
+                new UserAggregateLoader(new JooqRoleRepository(dsl), addressRepository, new JooqPhoneRepository(dsl)),
+                new UserExportProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.dispose();
+    }
+
+    private User storedUser() {
+        User user = userRepository.findById(1L, UserFetchPlan.BASIC).orElseThrow();
+        statements.clear();
+        return user;
+    }
+
+    private List<String> updates() {
+        return statements.stream().filter(sql -> sql.startsWith("update")).toList();
+    }
+
+    @Test
+    void unchangedSaveSendsNoUpdateButStillChecksVersion() {
+        User user = storedUser();
+        user.setFirstName("Ana");
+
+        userRepository.save(user);
+        assertTrue(updates().isEmpty(), () -> "UPDATE inesperado: " + updates());
+        assertFalse(statements.isEmpty(), "La versión indicada debe comprobarse aunque no haya cambios");
+
+        // Otra escritura deja vieja la versión leída: el guardado vacío ya no es un éxito
+        jdbc.update("UPDATE users SET version = version + 1 WHERE id = 1");
+        assertThrows(ConcurrentUpdateException.class, () -> userRepository.save(user));
+        assertTrue(updates().isEmpty());
+    }
+
+    @Test
+    void updateSetsOnlyChangedColumns() {
+        User user = storedUser();
+        user.setFirstName("Ana María");
+
+        User saved = userRepository.save(user);
+
+        assertEquals(1, updates().size());
+        String update = updates().getFirst();
+        assertTrue(update.contains("first_name"), update);
+        for (String column : List.of("username", "password", "email", "last_name", "birth_date", "enabled")) {
+            assertFalse(update.contains(column), () -> column + " no cambió y no debe escribirse: " + update);
+        }
+        assertEquals(1L, saved.getVersion());
+        assertTrue(saved.changedAttributes().isEmpty());
+        assertEquals("Ana María", jdbc.queryForObject("SELECT first_name FROM users WHERE id = 1", String.class));
+        assertEquals("ana@example.com", jdbc.queryForObject("SELECT email FROM users WHERE id = 1", String.class));
+    }
+
+    @Test
+    void staleVersionIsConcurrentUpdateAndMissingRowIsNotFound() {
+        User user = storedUser();
+        jdbc.update("UPDATE users SET version = version + 1 WHERE id = 1");
+        user.setFirstName("Ana María");
+        assertThrows(ConcurrentUpdateException.class, () -> userRepository.save(user));
+        assertEquals("Ana", jdbc.queryForObject("SELECT first_name FROM users WHERE id = 1", String.class));
+
+        Address address = addressRepository.findByIdAndUserId(1L, 1L).orElseThrow();
+        jdbc.update("DELETE FROM addresses WHERE id = 1");
+        address.setCity("Sevilla");
+        assertThrows(ResourceNotFoundException.class, () -> addressRepository.save(address));
+
+        // Sin cambios y con versión, una fila borrada tampoco pasa por un guardado correcto
+        Address unchanged = Address.builder().id(1L).userId(1L).version(0L).build();
+        unchanged.trackChanges();
+        assertThrows(ResourceNotFoundException.class, () -> addressRepository.save(unchanged));
+    }
+}